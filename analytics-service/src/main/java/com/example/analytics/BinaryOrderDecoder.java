@@ -0,0 +1,43 @@
+package com.example.analytics;
+
+import com.example.model.BinaryOrderFormat;
+import com.example.model.OrderDecoder;
+import com.example.model.OrderEvent;
+import com.example.model.Prices;
+import org.springframework.stereotype.Component;
+
+// ================================
+// 📦 Binary decoder — BinaryOrderFormat with symbol names from SymbolTable
+// ================================
+// Symbol ids are assigned by order-service only, so this side just decodes. The listener's
+// fast path reads binary records in place with OrderFlyweight instead of calling decode().
+@Component
+public class BinaryOrderDecoder implements OrderDecoder {
+
+    public static final String NAME = BinaryOrderFormat.NAME;
+
+    // 📖 id → symbol, from order-service's dictionary topic.
+    private final SymbolTable symbols;
+    private final Prices prices;
+
+    public BinaryOrderDecoder(SymbolTable symbols, Prices prices) {
+        this.symbols = symbols;
+        this.prices = prices;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public OrderEvent decode(byte[] data) {
+        return BinaryOrderFormat.decode(data, id -> symbolName(symbols, id), prices);
+    }
+
+    // Falls back to "#<id>" if the dictionary hasn't delivered this id yet.
+    static String symbolName(SymbolTable symbols, int id) {
+        String symbol = symbols.symbol(id);
+        return symbol != null ? symbol : "#" + id;
+    }
+}
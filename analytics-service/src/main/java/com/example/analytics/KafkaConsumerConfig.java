@@ -1,11 +1,18 @@
 package com.example.analytics;
 
 // --- Kafka & Spring imports ---
+import com.example.model.MalformedOrderException;
+//  → Thrown for records that can't be decoded (truncated, foreign, unknown version).
+
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 //  → Part of Kafka core client library.
 //    Defines constants for all standard consumer configuration keys
 //    (like bootstrap servers, group.id, auto commit etc).
 
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+//  → Hands the raw value bytes to the listener; OrderCodecs decodes them
+//    (JSON or binary, chosen per record by the `order-codec` header).
+
 import org.apache.kafka.common.serialization.StringDeserializer;
 //  → Converts byte[] (from Kafka messages) into Java Strings.
 //    Kafka sends data as bytes — so deserializers decode it for us.
@@ -18,6 +25,9 @@ import org.springframework.context.annotation.Configuration;
 //  → Marks this class as a configuration source for Spring Boot.
 //    It tells Spring to scan it and register the beans defined here.
 
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+//  → Spring task executor that can start virtual threads (Java 21+).
+
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 //  → Spring abstraction that manages concurrent Kafka message listeners
 //    (multiple threads consuming from partitions concurrently).
@@ -27,6 +37,9 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 //  → Factory classes that create KafkaConsumer instances
 //    based on configuration properties.
 
+import org.springframework.kafka.listener.DefaultErrorHandler;
+//  → Retries a failed record a few times, then logs and skips it.
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -55,6 +68,11 @@ public class KafkaConsumerConfig {
     //    Analogy: If 3 listeners share a group, each gets a part of the playlist.
     //    If each has a different group, all get the same playlist (broadcast mode).
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    // -> Opt-in: run the listener's poll + record processing on a virtual thread.
+    //    Needs a Java 21 runtime; on Java 17 leave this false.
+
     /**
      * ConsumerFactory bean:
      * ---------------------
@@ -65,7 +83,7 @@ public class KafkaConsumerConfig {
      *  - Each consumer created will follow this configuration (bootstrap, deserializer, etc.)
      */
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
 
         // Core connection settings
@@ -76,9 +94,9 @@ public class KafkaConsumerConfig {
         // → Group ID to manage partition assignment and offsets.
 
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         // → Kafka messages come as byte arrays. We tell Kafka how to convert them.
-        //   Key = e.g., stock symbol; Value = JSON string.
+        //   Key = orderId (String); Value = raw bytes, decoded by the listener's codec.
 
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
         // → Kafka can auto-commit offsets (like bookmarking progress).
@@ -88,6 +106,10 @@ public class KafkaConsumerConfig {
         // → If no offset exists (new consumer), start reading from the beginning.
         //   Alternative: "latest" (only new messages).
 
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        // → Only hand over records from committed transactions (order-service's atomic batches);
+        //   records of aborted transactions are skipped. Non-transactional records are unaffected.
+
         // Return a Spring wrapper factory that builds Kafka consumers.
         return new DefaultKafkaConsumerFactory<>(props);
     }
@@ -103,9 +125,9 @@ public class KafkaConsumerConfig {
      *    who listen to incoming messages.
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory() {
         // Container factory manages concurrency and error handling.
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         // Link the consumer factory we defined above.
@@ -118,6 +140,20 @@ public class KafkaConsumerConfig {
         // Increase concurrency to match number of partitions
         // if you want parallel message consumption.
 
+        // Malformed records fail the same way on every attempt: log and skip them right away
+        // instead of retrying. Other errors keep the default retries.
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler();
+        errorHandler.addNotRetryableExceptions(MalformedOrderException.class);
+        factory.setCommonErrorHandler(errorHandler);
+
+        // Virtual-thread mode: each consumer thread becomes a virtual thread.
+        // Analogy: same operators, but they no longer each need their own desk (OS thread).
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("orders-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+
         return factory;
     }
 }
@@ -0,0 +1,57 @@
+package com.example.analytics;
+
+import com.example.model.Prices;
+import com.example.model.Side;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// ================================
+// 🧮 NotionalTracker — running notional per side
+// ================================
+// notional = qty × price, summed in price ticks (see Prices), so totals are exact
+// and adding an order allocates nothing (LongAdder cells are created once, on contention).
+// A long holds ~9.2e18 ticks — e.g. ~920 trillion in price units at 4 decimals.
+//
+// Exposed via actuator metrics:
+//   GET /actuator/metrics/orders.notional?tag=side:BUY
+@Component
+public class NotionalTracker {
+
+    private final LongAdder buyNotionalTicks = new LongAdder();
+    private final LongAdder sellNotionalTicks = new LongAdder();
+    private final LongAdder buyQty = new LongAdder();
+    private final LongAdder sellQty = new LongAdder();
+
+    public NotionalTracker(MeterRegistry registry, Prices prices) {
+        Gauge.builder("orders.notional", buyNotionalTicks, t -> prices.toDouble(t.sum()))
+                .tag("side", Side.BUY.name()).register(registry);
+        Gauge.builder("orders.notional", sellNotionalTicks, t -> prices.toDouble(t.sum()))
+                .tag("side", Side.SELL.name()).register(registry);
+        Gauge.builder("orders.qty", buyQty, LongAdder::sum)
+                .tag("side", Side.BUY.name()).register(registry);
+        Gauge.builder("orders.qty", sellQty, LongAdder::sum)
+                .tag("side", Side.SELL.name()).register(registry);
+    }
+
+    public void record(byte sideCode, int qty, long priceTicks) {
+        long notional = Math.multiplyExact((long) qty, priceTicks);
+        if (sideCode == Side.BUY.code()) {
+            buyNotionalTicks.add(notional);
+            buyQty.add(qty);
+        } else {
+            sellNotionalTicks.add(notional);
+            sellQty.add(qty);
+        }
+    }
+
+    public long buyNotionalTicks() {
+        return buyNotionalTicks.sum();
+    }
+
+    public long sellNotionalTicks() {
+        return sellNotionalTicks.sum();
+    }
+}
@@ -2,6 +2,15 @@ package com.example.analytics;
 // 📦 The package groups related code logically.
 // In a large project, this helps structure components by domain (here, analytics service).
 
+import com.example.model.OrderCodecs;
+import com.example.model.OrderDecoder;
+import com.example.model.OrderEvent;
+import com.example.model.OrderFlyweight;
+import com.example.model.PartitionActivityLog;
+import com.example.model.Prices;
+import com.example.model.Side;
+// 🧾 Shared order model (order-model module): event, codecs, binary view, logging helpers.
+
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 // 📨 Represents one message fetched from a Kafka topic (like an email with metadata).
 
@@ -34,6 +43,34 @@ public class OrderEventListener {
     @Value("${app.topic.orders}")
     private String ordersTopic;
 
+    // 🔌 Picks the decoder for each record from its `order-codec` header (JSON or binary).
+    private final OrderCodecs codecs;
+
+    // 🪶 Reused zero-copy view for binary records (one per listener thread).
+    private final ThreadLocal<OrderFlyweight> flyweights;
+
+    // 🧮 Exact running notional per side (fixed-point ticks).
+    private final NotionalTracker notional;
+
+    // 📖 Symbol id → name for binary records.
+    private final SymbolTable symbols;
+
+    // 🪵 Per-partition summaries; full payload lines only for sampled records.
+    private final PartitionActivityLog activity;
+
+    // 💲 Ticks at the configured scale (binary records are rescaled to it) and back for logging.
+    private final Prices prices;
+
+    public OrderEventListener(OrderCodecs codecs, NotionalTracker notional, SymbolTable symbols,
+                              PartitionActivityLog activity, Prices prices) {
+        this.codecs = codecs;
+        this.prices = prices;
+        this.flyweights = ThreadLocal.withInitial(() -> new OrderFlyweight(prices));
+        this.notional = notional;
+        this.symbols = symbols;
+        this.activity = activity;
+    }
+
     // 🧠 @KafkaListener creates a background thread that subscribes to a Kafka topic.
     // It automatically polls messages and invokes this method for each message.
     @KafkaListener(
@@ -43,18 +80,50 @@ public class OrderEventListener {
                     "max.poll.records:100",                               // 🧺 Max messages to fetch per poll
                     "auto.offset.reset:earliest"                          // ⏮ Start from earliest offset if no commit exists
             })
-    public void onMessage(ConsumerRecord<String, String> record) {
+    public void onMessage(ConsumerRecord<String, byte[]> record) {
         // 💬 Kafka passes a record = single message + metadata (key, value, partition, offset)
 
-        log.info(
-                "📦 Received OrderEvent | key={} | partition={} | offset={} | payload={}",
-                record.key(),        // 🔑 message key (usually symbol or orderId)
-                record.partition(),  // 🧭 which partition this message came from
-                record.offset(),     // 📑 sequential offset in that partition
-                record.value()       // 🧾 the message itself (JSON string)
-        );
+        // 📊 Count it (records, offset range, bytes per partition) — logged as a periodic summary.
+        activity.record(record.partition(), record.offset(), record.value().length);
+
+        // 🔌 Decode with whatever codec the producer used (header `order-codec`, default json).
+        OrderDecoder codec = codecs.forHeaders(record.headers());
+
+        if (codec instanceof BinaryOrderDecoder) {
+            // 🪶 Binary fast path: read the fields in place — no String, no OrderEvent.
+            //    The symbol is an int id; only logging turns it back into a name.
+            OrderFlyweight order = flyweights.get().wrap(record.value());
+            long priceTicks = order.priceTicks();
+            notional.record(order.side(), order.qty(), priceTicks);
+            if (activity.logPayload(log)) {
+                log.info(
+                        "📦 Received OrderEvent | key={} | partition={} | offset={} | codec={} | symbol={} side={} qty={} price={}",
+                        record.key(), record.partition(), record.offset(), codec.name(),
+                        BinaryOrderDecoder.symbolName(symbols, order.symbolId()), Side.fromCode(order.side()), order.qty(), prices.toDouble(priceTicks));
+            }
+            return;
+        }
+
+        // 📝 Other formats (JSON): full decode.
+        OrderEvent event = codec.decode(record.value());
+        if (event.getSide() != null) {
+            notional.record(event.getSide().code(), event.getQty(), event.getPriceTicks());
+        }
+
+        // 🎲 Full line only for sampled records (or all of them in debug / full-capture mode).
+        if (activity.logPayload(log)) {
+            log.info(
+                    "📦 Received OrderEvent | key={} | partition={} | offset={} | codec={} | payload={} price={}",
+                    record.key(),        // 🔑 message key (usually symbol or orderId)
+                    record.partition(),  // 🧭 which partition this message came from
+                    record.offset(),     // 📑 sequential offset in that partition
+                    codec.name(),        // 🔌 wire format of this record
+                    event,               // 🧾 the decoded order
+                    prices.toDouble(event.getPriceTicks()) // 💲 its price in units, not ticks
+            );
+        }
 
         // ✅ Example output:
-        // 📦 Received OrderEvent | key=o-1001 | partition=0 | offset=15 | payload={"orderId":"o-1001",...}
+        // 📦 Received OrderEvent | key=o-1001 | partition=0 | offset=15 | codec=json | payload=OrderEvent{orderId=o-1001,...} price=188.25
     }
 }
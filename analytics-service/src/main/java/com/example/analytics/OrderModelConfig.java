@@ -0,0 +1,48 @@
+package com.example.analytics;
+
+// --- Shared order model & Spring imports ---
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderDecoder;
+import com.example.model.PartitionActivityLog;
+import com.example.model.Prices;
+//  → From the order-model module, shared with order-service (same classes, same wire formats).
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * OrderModelConfig:
+ * -----------------
+ * Registers the parts of order-model this service uses. order-model is a plain library,
+ * so nothing in it is picked up by component scanning.
+ * BinaryOrderDecoder stays a @Component here: it needs this service's SymbolTable.
+ */
+@Configuration
+public class OrderModelConfig {
+
+    @Bean
+    public Prices prices(@Value("${app.price.decimals:4}") int decimals) {
+        return new Prices(decimals);
+    }
+
+    @Bean
+    public JsonOrderCodec jsonOrderCodec(Prices prices) {
+        return new JsonOrderCodec(prices);
+    }
+
+    // Decoders only: analytics-service never publishes orders.
+    @Bean
+    public OrderCodecs orderCodecs(List<OrderDecoder> decoders) {
+        return new OrderCodecs(decoders);
+    }
+
+    @Bean
+    public PartitionActivityLog partitionActivityLog(@Value("${app.logging.payload-sample-every:1000}") int sampleEvery,
+                                                     @Value("${app.logging.full-capture:false}") boolean fullCapture) {
+        return new PartitionActivityLog("Consumed", sampleEvery, fullCapture);
+    }
+}
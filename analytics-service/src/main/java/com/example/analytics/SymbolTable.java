@@ -0,0 +1,183 @@
+package com.example.analytics;
+
+// --- Kafka & Spring imports ---
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+//  → Lets us run start/stop logic at a chosen point of the application lifecycle.
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SymbolTable:
+ * ------------
+ * In-memory copy of order-service's symbol dictionary (compacted topic, key = id, value = symbol).
+ * Binary order records carry an int symbol id; this turns it back into a name with a map lookup.
+ *
+ * Lifecycle:
+ *  1. start() replays the topic to its end *before* the Kafka listener containers start
+ *     (lower SmartLifecycle phase), so the first orders already resolve.
+ *  2. A daemon thread then keeps following the topic for newly assigned symbols.
+ *
+ * Ids are hashes of the symbol (see SymbolDictionary in order-service), so they are sparse.
+ * If two replicas ever claim one id, the later mapping wins here, as it does after compaction.
+ */
+@Component
+public class SymbolTable implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolTable.class);
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrap;
+
+    @Value("${app.topic.symbols}")
+    private String symbolsTopic;
+
+    // id → symbol. Written by the loader/follower thread only; readers never lock.
+    private final Map<Integer, String> byId = new ConcurrentHashMap<>();
+
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private volatile boolean running;
+
+    // Null while the mapping hasn't arrived yet.
+    public String symbol(int id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void start() {
+        consumer = new KafkaConsumer<>(consumerProps());
+        try {
+            List<TopicPartition> partitions = assignAll();
+            catchUp(partitions);
+        } catch (RuntimeException e) {
+            // Don't block startup forever on a missing topic; the follower keeps trying.
+            log.warn("Could not preload symbol dictionary from {}: {}", symbolsTopic, e.toString());
+        }
+        running = true;
+        Thread follower = new Thread(this::follow, "symbol-dictionary");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, byte[]> c = consumer;
+        if (c != null) {
+            c.wakeup();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before the listener containers (they use DEFAULT_PHASE - 100... and higher).
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private List<TopicPartition> assignAll() {
+        List<PartitionInfo> infos = consumer.partitionsFor(symbolsTopic, Duration.ofSeconds(10));
+        if (infos == null || infos.isEmpty()) {
+            throw new IllegalStateException("topic " + symbolsTopic + " not found");
+        }
+        List<TopicPartition> partitions = infos.stream()
+                .map(p -> new TopicPartition(p.topic(), p.partition()))
+                .toList();
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+        return partitions;
+    }
+
+    private void catchUp(List<TopicPartition> partitions) {
+        Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+        while (partitions.stream().anyMatch(tp -> consumer.position(tp) < end.get(tp))) {
+            apply(consumer.poll(Duration.ofMillis(500)));
+        }
+        log.info("Symbol dictionary loaded from {}", symbolsTopic);
+    }
+
+    // Any other error (a poll failure, a malformed mapping) is logged and retried after a
+    // pause, so the follower only ends when stop() is called.
+    private void follow() {
+        try {
+            while (running) {
+                try {
+                    if (consumer.assignment().isEmpty()) {
+                        assignAll();
+                    }
+                    apply(consumer.poll(Duration.ofSeconds(1)));
+                } catch (WakeupException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Symbol dictionary follower failed on {}, retrying in 5s: {}", symbolsTopic, e.toString());
+                    Thread.sleep(5_000);
+                }
+            }
+        } catch (WakeupException | InterruptedException e) {
+            // stop() was called
+        } finally {
+            consumer.close();
+        }
+    }
+
+    // A record that isn't a valid id → symbol mapping is skipped; the rest still apply.
+    private void apply(Iterable<ConsumerRecord<String, byte[]>> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                put(Integer.parseInt(record.key()), new String(record.value(), StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed symbol mapping at {}-{}@{} (key={}): {}",
+                        record.topic(), record.partition(), record.offset(), record.key(), e.toString());
+            }
+        }
+    }
+
+    private void put(int id, String symbol) {
+        if (id < 0) {
+            throw new IllegalArgumentException("negative symbol id " + id);
+        }
+        String previous = byId.put(id, symbol);
+        if (previous != null && !previous.equals(symbol)) {
+            log.warn("Symbol id {} remapped from {} to {}", id, previous, symbol);
+        }
+    }
+
+    private Map<String, Object> consumerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // → No group: we always replay the whole (small) compacted topic.
+        props.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, false);
+        // → Never let a lookup auto-create the dictionary as a non-compacted topic.
+        return props;
+    }
+}
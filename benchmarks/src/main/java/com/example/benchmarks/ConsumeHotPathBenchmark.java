@@ -0,0 +1,133 @@
+package com.example.benchmarks;
+
+import com.example.analytics.BinaryOrderDecoder;
+import com.example.analytics.NotionalTracker;
+import com.example.analytics.OrderEventListener;
+import com.example.analytics.SymbolTable;
+import com.example.model.BinaryOrderFormat;
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import com.example.model.PartitionActivityLog;
+import com.example.model.Prices;
+import com.example.model.Side;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What analytics-service does per consumed order, without a broker.
+ *
+ * keyDecode:     StringDeserializer on the record key (the consumer's key deserializer).
+ * valueAsString: StringDeserializer on a JSON value — the cost a String value deserializer
+ *                would add before any parsing (the service reads byte[] and skips it).
+ * onMessageJson / onMessageBinary: OrderEventListener.onMessage for one record of each codec
+ *                (activity counters, decode, notional update; payload logging off, as at INFO).
+ * pollAndDispatch: a MockConsumer poll of 100 records (max.poll.records) dispatched one by one
+ *                to onMessage — the listener container's loop without the network. Per record.
+ *
+ * Values are written with the shared order-model codecs; the binary layout gets symbol id 7,
+ * which stays unresolved here (SymbolTable isn't started) — that only matters for logging.
+ *
+ * Run: java -jar target/benchmarks.jar ConsumeHotPathBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumeHotPathBenchmark {
+
+    private static final String TOPIC = "orders.v1";
+    private static final int BATCH = 100;
+
+    private final StringDeserializer stringDeserializer = new StringDeserializer();
+    private OrderEventListener listener;
+    private byte[] keyBytes;
+    private byte[] jsonValue;
+    private ConsumerRecord<String, byte[]> jsonRecord;
+    private ConsumerRecord<String, byte[]> binaryRecord;
+
+    private MockConsumer<String, byte[]> consumer;
+    private final TopicPartition partition = new TopicPartition(TOPIC, 0);
+    private long nextOffset;
+
+    @Setup
+    public void setup() {
+        Prices prices = new Prices(4);
+        SymbolTable symbols = new SymbolTable();
+        listener = new OrderEventListener(
+                new OrderCodecs(List.of(new JsonOrderCodec(prices), new BinaryOrderDecoder(symbols, prices))),
+                new NotionalTracker(new SimpleMeterRegistry(), prices),
+                symbols,
+                new PartitionActivityLog("Consumed", 0, false),
+                prices);
+
+        keyBytes = "o-1001".getBytes(StandardCharsets.UTF_8);
+        OrderEvent order = new OrderEvent("o-1001", "AAPL", Side.BUY, 10, 1_882_500L); // 188.25 at 4 decimals
+        jsonValue = new JsonOrderCodec(prices).encode(order);
+        jsonRecord = record(0, JsonOrderCodec.NAME, jsonValue);
+        binaryRecord = record(0, BinaryOrderFormat.NAME, BinaryOrderFormat.encode(order, 7, prices));
+
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+    }
+
+    @Benchmark
+    public String keyDecode() {
+        return stringDeserializer.deserialize(TOPIC, keyBytes);
+    }
+
+    @Benchmark
+    public String valueAsString() {
+        return stringDeserializer.deserialize(TOPIC, jsonValue);
+    }
+
+    @Benchmark
+    public void onMessageJson() {
+        listener.onMessage(jsonRecord);
+    }
+
+    @Benchmark
+    public void onMessageBinary() {
+        listener.onMessage(binaryRecord);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void pollAndDispatch(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            consumer.addRecord(record(nextOffset++, JsonOrderCodec.NAME, jsonValue));
+        }
+        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ZERO);
+        for (ConsumerRecord<String, byte[]> record : records) {
+            listener.onMessage(record);
+        }
+        bh.consume(records.count());
+    }
+
+    private ConsumerRecord<String, byte[]> record(long offset, String codec, byte[] value) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(new RecordHeader(OrderCodecs.HEADER, codec.getBytes(StandardCharsets.UTF_8)));
+        return new ConsumerRecord<>(TOPIC, 0, offset, System.currentTimeMillis(), TimestampType.CREATE_TIME,
+                keyBytes.length, value.length, "o-1001", value, headers, Optional.empty());
+    }
+}
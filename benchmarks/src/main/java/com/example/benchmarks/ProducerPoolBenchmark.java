@@ -0,0 +1,81 @@
+package com.example.benchmarks;
+
+import com.example.orders.ProducerPool;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Send throughput of the producer pool vs. one shared producer, with many sending threads.
+ *
+ * Needs a broker (`-Dbench.bootstrap=host:port`, default kafka:9092). Each op is one
+ * send() into the producer's accumulator; once the broker falls behind, send() blocks on
+ * buffer memory, so a sustained score is what the producers actually deliver.
+ *
+ * Sweep the thread count, since contention is what the pool removes:
+ *   scripts/bench-producer-pool.sh 1 4 8 16 32
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProducerPoolBenchmark {
+
+    private static final String TOPIC = "orders.bench";
+
+    @Param({"1", "4", "8"})
+    private int poolSize;
+
+    private DefaultKafkaProducerFactory<String, byte[]> primaryFactory;
+    private ProducerPool pool;
+    private final byte[] value = "{\"orderId\":\"o-1001\",\"symbol\":\"AAPL\",\"side\":\"BUY\",\"qty\":10,\"price\":188.25}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private final String prefix = "o-" + Thread.currentThread().getId() + "-";
+        private int next;
+
+        String next() {
+            return prefix + (next++ & 1023);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        // Same producer settings as order-service's KafkaProducerConfig.
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, System.getProperty("bench.bootstrap", "kafka:9092"));
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.RETRIES_CONFIG, 3);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        primaryFactory = new DefaultKafkaProducerFactory<>(props);
+        pool = new ProducerPool(new KafkaTemplate<>(primaryFactory), poolSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Closing a producer flushes what is still buffered.
+        pool.destroy();
+        primaryFactory.destroy();
+    }
+
+    @Benchmark
+    public Object send(Keys keys) {
+        String key = keys.next();
+        return pool.send(new ProducerRecord<>(TOPIC, key, value));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.benchmarks;
+
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import com.example.model.Prices;
+import com.example.model.Side;
+import com.example.orders.OrderRecordFactory;
+import com.example.orders.SymbolPartitioner;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What OrderPublisher does per order before the network, step by step, without a broker.
+ *
+ * jsonEncode:     OrderEvent → JSON bytes with the publish codec (OrderRecordFactory step 1).
+ * producerRecord: ProducerRecord + codec header around already-encoded bytes.
+ * toRecord:       both of the above, as OrderRecordFactory.toRecord does them.
+ * send:           toRecord + KafkaProducer-style send into a MockProducer: key/value
+ *                 serialization and key-hash partitioning over 3 partitions, no I/O.
+ *
+ * Run: java -jar target/benchmarks.jar PublishHotPathBenchmark -prof gc
+ * (`gc.alloc.rate.norm` is the allocation per order in B/op.)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishHotPathBenchmark {
+
+    private static final String TOPIC = "orders.v1";
+    private static final int PARTITIONS = 3;
+    // MockProducer keeps every sent record; clear it before the history skews the GC numbers.
+    private static final int CLEAR_EVERY = 1024;
+
+    private final OrderCodecs codecs = new OrderCodecs(List.of(new JsonOrderCodec(new Prices(4))), JsonOrderCodec.NAME);
+    private final OrderRecordFactory recordFactory = new OrderRecordFactory(TOPIC, codecs,
+            // order-id strategy never looks up partitions, so no template is needed.
+            new SymbolPartitioner(null, TOPIC, SymbolPartitioner.ORDER_ID, 8, 0.1, 2, 64));
+
+    private final OrderEvent event = new OrderEvent("o-1001", "AAPL", Side.BUY, 10, 1_882_500L); // 188.25 at 4 decimals
+    private byte[] encoded;
+    private MockProducer<String, byte[]> producer;
+    private int sent;
+
+    @Setup
+    public void setup() {
+        encoded = codecs.publishCodec().encode(event);
+
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int p = 0; p < PARTITIONS; p++) {
+            partitions.add(new PartitionInfo(TOPIC, p, node, new Node[]{node}, new Node[]{node}));
+        }
+        Cluster cluster = new Cluster("bench", List.of(node), partitions, Set.of(), Set.of());
+        producer = new MockProducer<>(cluster, true, new KeyHashPartitioner(),
+                new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return codecs.publishCodec().encode(event);
+    }
+
+    @Benchmark
+    public ProducerRecord<String, byte[]> producerRecord() {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, null, event.getOrderId(), encoded);
+        record.headers().add(OrderCodecs.HEADER, codecs.publishHeaderValue());
+        return record;
+    }
+
+    @Benchmark
+    public ProducerRecord<String, byte[]> toRecord() {
+        return recordFactory.toRecord(event);
+    }
+
+    @Benchmark
+    public Future<RecordMetadata> send() {
+        if (++sent % CLEAR_EVERY == 0) {
+            producer.clear();
+        }
+        return producer.send(recordFactory.toRecord(event));
+    }
+
+    // Kafka's built-in choice for keyed records: murmur2(key) mod partitions.
+    public static class KeyHashPartitioner implements Partitioner {
+        @Override
+        public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+            return Utils.toPositive(Utils.murmur2(keyBytes)) % cluster.partitionCountForTopic(topic);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void configure(Map<String, ?> configs) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmarks;
+
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import com.example.model.OrderJsonModule;
+import com.example.model.Prices;
+import com.example.orders.OrderRecordFactory;
+import com.example.orders.RawOrderValidator;
+import com.example.orders.SymbolPartitioner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body → serialized Kafka value, per order, without a broker.
+ *
+ * bindAndReserialize: what POST /orders does (Jackson bind to OrderEvent, then
+ *                     OrderRecordFactory writes the JSON bytes again).
+ * passthrough:        what POST /orders/raw does (streaming validation, original bytes forwarded).
+ *
+ * Run: java -jar target/benchmarks.jar PublishPathBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishPathBenchmark {
+
+    private static final String TOPIC = "orders.v1";
+
+    private final Prices prices = new Prices(4);
+    // Like Spring Boot's ObjectMapper, which picks up the OrderJsonModule bean.
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new OrderJsonModule(prices));
+    private final OrderRecordFactory recordFactory = new OrderRecordFactory(TOPIC,
+            new OrderCodecs(List.of(new JsonOrderCodec(prices)), JsonOrderCodec.NAME),
+            // order-id strategy never looks up partitions, so no template is needed.
+            new SymbolPartitioner(null, TOPIC, SymbolPartitioner.ORDER_ID, 8, 0.1, 2, 64));
+    private final RawOrderValidator validator = new RawOrderValidator(prices);
+    private final ByteArraySerializer byteSerializer = new ByteArraySerializer();
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        body = "{\"orderId\":\"o-1001\",\"symbol\":\"AAPL\",\"side\":\"BUY\",\"qty\":10,\"price\":188.25}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] bindAndReserialize() throws Exception {
+        OrderEvent event = mapper.readValue(body, OrderEvent.class);
+        ProducerRecord<String, byte[]> record = recordFactory.toRecord(event);
+        return byteSerializer.serialize(TOPIC, record.value());
+    }
+
+    @Benchmark
+    public byte[] passthrough() {
+        RawOrderValidator.Fields fields = validator.validate(body);
+        ProducerRecord<String, byte[]> record = recordFactory.toRawRecord(fields.orderId(), fields.symbol(), body);
+        return byteSerializer.serialize(TOPIC, record.value());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.benchmarks;
+
+import com.example.model.OrderEvent;
+import com.example.model.OrderJsonModule;
+import com.example.model.OrderJsonWriter;
+import com.example.model.Prices;
+import com.example.model.Side;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderEvent → Kafka value bytes, per publish.
+ *
+ * objectMapperString: the previous path (writeValueAsString + StringSerializer).
+ * pooledWriter:       OrderJsonWriter into a reused per-thread buffer + ByteArraySerializer.
+ *
+ * Allocation per publish is the `gc.alloc.rate.norm` (B/op) column:
+ *   java -jar target/benchmarks.jar SerializationBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String TOPIC = "orders.v1";
+
+    private final Prices prices = new Prices(4);
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new OrderJsonModule(prices));
+    private final OrderJsonWriter writer = new OrderJsonWriter(prices);
+    private final StringSerializer stringSerializer = new StringSerializer();
+    private final ByteArraySerializer byteSerializer = new ByteArraySerializer();
+
+    private final OrderEvent event = new OrderEvent("o-1001", "AAPL", Side.BUY, 10, 1_882_500L); // 188.25 at 4 decimals
+
+    @Benchmark
+    public byte[] objectMapperString() throws Exception {
+        return stringSerializer.serialize(TOPIC, mapper.writeValueAsString(event));
+    }
+
+    @Benchmark
+    public byte[] pooledWriter() {
+        return byteSerializer.serialize(TOPIC, writer.write(event));
+    }
+}
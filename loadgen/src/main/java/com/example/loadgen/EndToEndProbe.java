@@ -0,0 +1,115 @@
+package com.example.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ================================
+// 📡 EndToEndProbe — when did each order reach the topic's consumers?
+// ================================
+// Reads the orders topic from its end (assigned partitions, no consumer group, nothing
+// committed), so it sees what analytics-service sees. For a record keyed `lg-<step>-<seq>`
+// the intended send time is known without any bookkeeping: start + seq / rate. The
+// end-to-end latency is measured from there, so it is coordinated-omission corrected too.
+public class EndToEndProbe implements AutoCloseable {
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final SingleWriterRecorder recorder = new SingleWriterRecorder(LatencyUnits.HIGHEST_MICROS, 3);
+    private final AtomicLong consumed = new AtomicLong();
+    private final Thread thread;
+    private volatile Step step;
+    private volatile boolean running = true;
+
+    // The open-loop schedule of the current step.
+    public record Step(int id, long startNanos, int rate, long firstMeasuredSeq) {
+        long intendedNanos(long seq) {
+            return startNanos + seq * 1_000_000_000L / rate;
+        }
+    }
+
+    public EndToEndProbe(String bootstrap, String topic) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // Same visibility as analytics-service: transactional orders only once committed.
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        this.consumer = new KafkaConsumer<>(props);
+
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (PartitionInfo info : consumer.partitionsFor(topic)) {
+            partitions.add(new TopicPartition(topic, info.partition()));
+        }
+        consumer.assign(partitions);
+        consumer.seekToEnd(partitions);
+        partitions.forEach(consumer::position); // resolve the end offsets now, not on the first poll
+
+        this.thread = new Thread(this::run, "e2e-probe");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // Switches to a new step; records from earlier steps are ignored from now on.
+    public void begin(Step next) {
+        step = next;
+        consumed.set(0);
+    }
+
+    public long consumed() {
+        return consumed.get();
+    }
+
+    // Latencies recorded since the previous call (µs).
+    public Histogram take() {
+        return recorder.getIntervalHistogram();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
+                long now = System.nanoTime();
+                Step current = step;
+                if (current == null) {
+                    continue;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    long seq = OrderMix.seqOf(record.key(), current.id());
+                    if (seq < 0) {
+                        continue;
+                    }
+                    consumed.incrementAndGet();
+                    if (seq >= current.firstMeasuredSeq()) {
+                        recorder.recordValue(LatencyUnits.micros(now - current.intendedNanos(seq)));
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // close()
+        } finally {
+            consumer.close();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        thread.join();
+    }
+}
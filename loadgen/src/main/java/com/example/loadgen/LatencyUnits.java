@@ -0,0 +1,15 @@
+package com.example.loadgen;
+
+// Every histogram records microseconds, up to one minute, with 3 significant digits.
+final class LatencyUnits {
+
+    static final long HIGHEST_MICROS = 60_000_000L;
+    static final double MICROS_PER_MS = 1000.0;
+
+    private LatencyUnits() {}
+
+    // ns → µs, clamped into the histograms' range.
+    static long micros(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(0, nanos / 1000));
+    }
+}
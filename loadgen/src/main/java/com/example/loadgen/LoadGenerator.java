@@ -0,0 +1,142 @@
+package com.example.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// ================================
+// 🚀 LoadGenerator — find the throughput knee of POST /orders
+// ================================
+// Drives order-service at each rate in `--rates` (open loop, see OpenLoopRunner) and prints
+// HdrHistogram percentiles per step:
+//   request    coordinated-omission corrected response time (plus the uncorrected one)
+//   end-to-end due time → record visible on the orders topic (with --bootstrap)
+// The summary marks the knee: the first step whose corrected p99 exceeds `--slo-p99-ms`,
+// that the service (or this client) couldn't keep up with, or that left requests unanswered.
+//
+//   java -jar loadgen/target/loadgen.jar --rates=1000,2000,4000,8000 --bootstrap=kafka:9092
+// All options: see LoadSettings.
+public class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final double KEEP_UP = 0.95;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn"); // quiet kafka-clients
+        LoadSettings settings = LoadSettings.parse(args);
+
+        System.out.printf("Target %s | rates %s/s | %ds measured after %ds warm-up | end-to-end %s%n",
+                settings.url(), settings.rates(), settings.durationSeconds(), settings.warmupSeconds(),
+                settings.endToEnd() ? "via " + settings.bootstrap() + " " + settings.topic() : "off");
+
+        EndToEndProbe probe = settings.endToEnd() ? new EndToEndProbe(settings.bootstrap(), settings.topic()) : null;
+        try {
+            OpenLoopRunner runner = new OpenLoopRunner(settings, new OrderMix(settings), probe);
+            List<StepResult> results = new ArrayList<>();
+            for (int i = 0; i < settings.rates().size(); i++) {
+                int rate = settings.rates().get(i);
+                System.out.printf("%n=== step %d: %d orders/s%n", i + 1, rate);
+                StepResult result = runner.run(i + 1, rate);
+                print(result);
+                writeHgrm(settings, result);
+                results.add(result);
+            }
+            summarize(settings, results);
+        } finally {
+            if (probe != null) {
+                probe.close();
+            }
+        }
+    }
+
+    private static void print(StepResult result) {
+        System.out.printf("achieved %.0f/s | ok %d | 429 %d | failed %d | timed out %d%n",
+                result.achievedRate(), result.ok(), result.rejected(), result.failed(), result.timedOut());
+        System.out.println(header());
+        System.out.println(row("request", result.corrected()));
+        System.out.println(row("request (uncorrected)", result.uncorrected()));
+        if (result.endToEnd() != null) {
+            System.out.println(row("end-to-end", result.endToEnd()));
+            if (result.consumed() < result.ok()) {
+                System.out.printf("  ⚠️ only %d of %d accepted orders reached the topic before the drain timeout%n",
+                        result.consumed(), result.ok());
+            }
+        }
+    }
+
+    // 📈 One line per step, and where the knee is.
+    private static void summarize(LoadSettings settings, List<StepResult> results) {
+        System.out.printf("%n=== summary (corrected request latency, ms; SLO p99 ≤ %.1f)%n", settings.sloP99Ms());
+        System.out.printf("%10s %10s %10s %10s %10s %8s %8s %9s%n",
+                "rate/s", "achieved", "p50", "p99", "p99.9", "429", "failed", "timed-out");
+        StepResult lastGood = null;
+        StepResult knee = null;
+        for (StepResult r : results) {
+            Histogram h = r.corrected();
+            System.out.printf("%10d %10.0f %10.2f %10.2f %10.2f %8d %8d %9d%n", r.rate(), r.achievedRate(),
+                    ms(h, 50), ms(h, 99), ms(h, 99.9), r.rejected(), r.failed(), r.timedOut());
+            boolean good = r.p99Ms() <= settings.sloP99Ms()
+                    && r.achievedRate() >= KEEP_UP * r.rate()
+                    && r.rejected() + r.failed() + r.timedOut() == 0;
+            if (knee == null) {
+                if (good) {
+                    lastGood = r;
+                } else {
+                    knee = r;
+                }
+            }
+        }
+        if (knee == null) {
+            System.out.println("No knee: every step met the SLO. Add higher rates.");
+        } else if (lastGood == null) {
+            System.out.printf("Knee below %d/s: even the first step missed the SLO.%n", knee.rate());
+        } else {
+            System.out.printf("Knee between %d/s (last within SLO) and %d/s.%n", lastGood.rate(), knee.rate());
+        }
+    }
+
+    // 💾 Full percentile distributions (HdrHistogram's .hgrm format, in ms) for plotting.
+    private static void writeHgrm(LoadSettings settings, StepResult result) throws IOException {
+        if (settings.hgrmDir().isBlank()) {
+            return;
+        }
+        Path dir = Files.createDirectories(Path.of(settings.hgrmDir()));
+        write(dir.resolve("request-" + result.rate() + ".hgrm"), result.corrected());
+        write(dir.resolve("request-uncorrected-" + result.rate() + ".hgrm"), result.uncorrected());
+        if (result.endToEnd() != null) {
+            write(dir.resolve("e2e-" + result.rate() + ".hgrm"), result.endToEnd());
+        }
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, LatencyUnits.MICROS_PER_MS);
+        }
+    }
+
+    private static String header() {
+        StringBuilder line = new StringBuilder(String.format("%-22s", "ms"));
+        for (double p : PERCENTILES) {
+            line.append(String.format("%10s", "p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p))));
+        }
+        return line.append(String.format("%10s%10s", "max", "count")).toString();
+    }
+
+    private static String row(String name, Histogram histogram) {
+        StringBuilder line = new StringBuilder(String.format("%-22s", name));
+        for (double p : PERCENTILES) {
+            line.append(String.format("%10.2f", ms(histogram, p)));
+        }
+        return line.append(String.format("%10.2f%10d", histogram.getMaxValue() / LatencyUnits.MICROS_PER_MS,
+                histogram.getTotalCount())).toString();
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / LatencyUnits.MICROS_PER_MS;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.loadgen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ================================
+// ⚙️ LoadSettings — command-line options
+// ================================
+// Every option is `--name=value`; anything left out keeps the default below.
+//
+//   --url=http://localhost:8081/orders    endpoint to POST orders to (add ?ack=true for broker acks)
+//   --rates=1000,2000,4000                open-loop request rates (per second), run in order
+//   --duration-s=30                       measured seconds per rate
+//   --warmup-s=10                         unrecorded seconds before each measurement
+//   --symbols=AAPL:40,MSFT:30,GOOG:20,TSLA:10   symbol:weight
+//   --buy-share=0.5                       share of BUY orders
+//   --qty=1-100                           uniform quantity range
+//   --price=100.00 --price-jitter=0.02    price = base × (1 ± jitter)
+//   --seed=42                             same seed → same order sequence
+//   --bootstrap=                          Kafka bootstrap for the end-to-end probe (empty = off)
+//   --topic=orders.v1
+//   --slo-p99-ms=50                       corrected p99 above this marks the knee
+//   --hgrm-dir=                           also write .hgrm percentile files here (empty = off)
+public record LoadSettings(
+        String url,
+        List<Integer> rates,
+        int durationSeconds,
+        int warmupSeconds,
+        Map<String, Integer> symbols,
+        double buyShare,
+        int minQty,
+        int maxQty,
+        double price,
+        double priceJitter,
+        long seed,
+        String bootstrap,
+        String topic,
+        double sloP99Ms,
+        String hgrmDir) {
+
+    public static LoadSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got '" + arg + "'");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String[] qty = options.getOrDefault("qty", "1-100").split("-");
+        LoadSettings settings = new LoadSettings(
+                options.getOrDefault("url", "http://localhost:8081/orders"),
+                parseRates(options.getOrDefault("rates", "1000")),
+                Integer.parseInt(options.getOrDefault("duration-s", "30")),
+                Integer.parseInt(options.getOrDefault("warmup-s", "10")),
+                parseWeights(options.getOrDefault("symbols", "AAPL:40,MSFT:30,GOOG:20,TSLA:10")),
+                Double.parseDouble(options.getOrDefault("buy-share", "0.5")),
+                Integer.parseInt(qty[0].trim()),
+                Integer.parseInt(qty[qty.length - 1].trim()),
+                Double.parseDouble(options.getOrDefault("price", "100.00")),
+                Double.parseDouble(options.getOrDefault("price-jitter", "0.02")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                options.getOrDefault("bootstrap", ""),
+                options.getOrDefault("topic", "orders.v1"),
+                Double.parseDouble(options.getOrDefault("slo-p99-ms", "50")),
+                options.getOrDefault("hgrm-dir", ""));
+
+        options.keySet().removeAll(List.of("url", "rates", "duration-s", "warmup-s", "symbols", "buy-share", "qty",
+                "price", "price-jitter", "seed", "bootstrap", "topic", "slo-p99-ms", "hgrm-dir"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        if (settings.minQty() < 1 || settings.maxQty() < settings.minQty()) {
+            throw new IllegalArgumentException("--qty must be a range like 1-100");
+        }
+        return settings;
+    }
+
+    public boolean endToEnd() {
+        return !bootstrap.isBlank();
+    }
+
+    private static List<Integer> parseRates(String value) {
+        List<Integer> rates = new ArrayList<>();
+        for (String rate : value.split(",")) {
+            int perSecond = Integer.parseInt(rate.trim());
+            if (perSecond <= 0) {
+                throw new IllegalArgumentException("Rates must be positive: " + value);
+            }
+            rates.add(perSecond);
+        }
+        return rates;
+    }
+
+    private static Map<String, Integer> parseWeights(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return weights;
+    }
+}
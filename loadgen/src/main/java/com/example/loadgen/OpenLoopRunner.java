@@ -0,0 +1,166 @@
+package com.example.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// ================================
+// ⏱️ OpenLoopRunner — one rate step
+// ================================
+// Open loop: order `seq` is due at start + seq / rate, whether or not earlier requests have
+// been answered. A closed loop (send, wait, send) slows down with the server, and so it
+// never asks for the requests a stalled server would have been hit with. Its histogram
+// then hides the stall ("coordinated omission").
+//
+// Each response is recorded twice:
+//   corrected   from the due time → what a client arriving on schedule would have seen,
+//               including time spent waiting behind a stall (and behind our own scheduler
+//               if it fell behind);
+//   uncorrected from the actual send → for comparison only; the gap between the two shows
+//               how much queueing the closed-loop view would have missed.
+// Requests due in the first `warmup-s` seconds are sent but not recorded.
+//
+// Requests still unanswered when the drain deadline passes are not dropped from the
+// histograms (that would hide exactly the worst stall): each is recorded at its latency so
+// far (deadline − due, and deadline − sent) and counted as timed out, which disqualifies
+// the step. A response arriving after that is ignored.
+public class OpenLoopRunner {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long DRAIN_NANOS = 30 * NANOS_PER_SECOND;
+
+    private final LoadSettings settings;
+    private final OrderMix mix;
+    private final EndToEndProbe probe;
+    private final HttpClient client;
+    private final URI uri;
+
+    public OpenLoopRunner(LoadSettings settings, OrderMix mix, EndToEndProbe probe) {
+        this.settings = settings;
+        this.mix = mix;
+        this.probe = probe;
+        this.uri = URI.create(settings.url());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public StepResult run(int step, int rate) throws InterruptedException {
+        long warmupSeqs = (long) rate * settings.warmupSeconds();
+        long totalSeqs = warmupSeqs + (long) rate * settings.durationSeconds();
+
+        Recorder corrected = new Recorder(LatencyUnits.HIGHEST_MICROS, 3);
+        Recorder uncorrected = new Recorder(LatencyUnits.HIGHEST_MICROS, 3);
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder acceptedTotal = new LongAdder(); // incl. warm-up, to know what the probe should see
+        AtomicLong inFlight = new AtomicLong();
+        // Measured requests without a response yet: seq → actual send time. Whoever removes
+        // an entry (the response, or the drain deadline) records it.
+        Map<Long, Long> outstanding = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime() + NANOS_PER_SECOND / 10;
+        if (probe != null) {
+            probe.begin(new EndToEndProbe.Step(step, start, rate, warmupSeqs));
+            probe.take(); // drop anything from the previous step
+        }
+
+        long firstMeasuredSend = 0;
+        long lastSend = 0;
+        long nextProgress = start + NANOS_PER_SECOND;
+        for (long seq = 0; seq < totalSeqs; seq++) {
+            long due = start + seq * NANOS_PER_SECOND / rate;
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            if (now >= nextProgress) {
+                System.out.printf("  [%d/s] t=%ds sent=%d in-flight=%d%n",
+                        rate, (now - start) / NANOS_PER_SECOND, seq, inFlight.get());
+                nextProgress += NANOS_PER_SECOND;
+            }
+
+            boolean measured = seq >= warmupSeqs;
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mix.next(step, seq)))
+                    .build();
+            long sent = System.nanoTime();
+            if (measured && firstMeasuredSend == 0) {
+                firstMeasuredSend = sent;
+            }
+            lastSend = sent;
+            inFlight.incrementAndGet();
+            if (measured) {
+                outstanding.put(seq, sent);
+            }
+            long requestSeq = seq;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                long done = System.nanoTime();
+                int status = ex == null ? response.statusCode() : -1;
+                if (status >= 200 && status < 300) {
+                    acceptedTotal.increment();
+                }
+                if (measured && outstanding.remove(requestSeq) != null) {
+                    corrected.recordValue(LatencyUnits.micros(done - due));
+                    uncorrected.recordValue(LatencyUnits.micros(done - sent));
+                    if (status >= 200 && status < 300) {
+                        ok.increment();
+                    } else if (status == 429) {
+                        rejected.increment(); // load shedding: an answer, but not an accepted order
+                    } else {
+                        failed.increment();
+                    }
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        // ⏳ Let the last requests (and their records) arrive.
+        long deadline = System.nanoTime() + DRAIN_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long timedOut = 0;
+        long now = System.nanoTime();
+        for (Long seq : outstanding.keySet()) {
+            Long sent = outstanding.remove(seq);
+            if (sent != null) {
+                corrected.recordValue(LatencyUnits.micros(now - (start + seq * NANOS_PER_SECOND / rate)));
+                uncorrected.recordValue(LatencyUnits.micros(now - sent));
+                timedOut++;
+            }
+        }
+        if (timedOut > 0) {
+            System.out.printf("  ⚠️ %d requests still in flight after the %ds drain, recorded as timed out%n",
+                    timedOut, DRAIN_NANOS / NANOS_PER_SECOND);
+        }
+        if (probe != null) {
+            while (probe.consumed() < acceptedTotal.sum() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        long measuredSends = totalSeqs - warmupSeqs;
+        double achieved = measuredSends <= 1 ? measuredSends
+                : (measuredSends - 1) * (double) NANOS_PER_SECOND / Math.max(1, lastSend - firstMeasuredSend);
+        Histogram endToEnd = probe != null ? probe.take() : null;
+        return new StepResult(rate, achieved, ok.sum(), rejected.sum(), failed.sum(), timedOut,
+                corrected.getIntervalHistogram(), uncorrected.getIntervalHistogram(),
+                endToEnd, probe != null ? probe.consumed() : 0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.loadgen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// ================================
+// 🎲 OrderMix — the orders we send
+// ================================
+// Weighted symbol, BUY/SELL by share, uniform qty, price jittered around a base.
+// Seeded, so the same settings replay the same sequence of orders.
+//
+// The orderId is `lg-<step>-<seq>`: order-service keeps it as the record key, which is
+// how the end-to-end probe finds the intended send time of a consumed record.
+public class OrderMix {
+
+    private final String[] symbols;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final double buyShare;
+    private final int minQty;
+    private final int qtySpan;
+    private final double price;
+    private final double priceJitter;
+    private final SplittableRandom random;
+
+    public OrderMix(LoadSettings settings) {
+        Map<String, Integer> weights = settings.symbols();
+        this.symbols = new String[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            symbols[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        this.totalWeight = total;
+        this.buyShare = settings.buyShare();
+        this.minQty = settings.minQty();
+        this.qtySpan = settings.maxQty() - settings.minQty() + 1;
+        this.price = settings.price();
+        this.priceJitter = settings.priceJitter();
+        this.random = new SplittableRandom(settings.seed());
+    }
+
+    // Not thread-safe: only the scheduler thread calls it.
+    public byte[] next(int step, long seq) {
+        String symbol = pickSymbol();
+        String side = random.nextDouble() < buyShare ? "BUY" : "SELL";
+        int qty = minQty + random.nextInt(qtySpan);
+        BigDecimal px = BigDecimal.valueOf(price * (1 + priceJitter * (2 * random.nextDouble() - 1)))
+                .setScale(2, RoundingMode.HALF_UP);
+        String json = "{\"orderId\":\"" + orderId(step, seq) + "\",\"symbol\":\"" + symbol + "\",\"side\":\"" + side
+                + "\",\"qty\":" + qty + ",\"price\":" + px.toPlainString() + "}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String orderId(int step, long seq) {
+        return "lg-" + step + "-" + seq;
+    }
+
+    // seq of an orderId from this step, or -1 for anything else on the topic.
+    public static long seqOf(String orderId, int step) {
+        String prefix = "lg-" + step + "-";
+        if (orderId == null || !orderId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(orderId, prefix.length(), orderId.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String pickSymbol() {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return symbols[i];
+            }
+        }
+        return symbols[symbols.length - 1];
+    }
+}
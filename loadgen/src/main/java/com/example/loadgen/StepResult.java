@@ -0,0 +1,29 @@
+package com.example.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+// Outcome of one rate step. Histograms are in µs; endToEnd is null without the probe.
+//   corrected   = response time measured from the order's *intended* send time
+//   uncorrected = response time measured from when it was actually sent
+// timedOut counts requests unanswered at the drain deadline; they are in both histograms
+// with their latency up to the deadline.
+public record StepResult(
+        int rate,
+        double achievedRate,
+        long ok,
+        long rejected,
+        long failed,
+        long timedOut,
+        Histogram corrected,
+        Histogram uncorrected,
+        Histogram endToEnd,
+        long consumed) {
+
+    public double p99Ms() {
+        return corrected.getValueAtPercentile(99.0) / LatencyUnits.MICROS_PER_MS;
+    }
+
+    public long requests() {
+        return ok + rejected + failed + timedOut;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// 📝 JSON format — the original wire format. Records without an `order-codec` header are JSON.
+public class JsonOrderCodec implements OrderCodec {
+
+    public static final String NAME = "json";
+
+    // ✍️ Writes OrderEvent → JSON bytes through reused per-thread buffers.
+    private final OrderJsonWriter writer;
+    private final ObjectMapper mapper;
+
+    public JsonOrderCodec(Prices prices) {
+        this.writer = new OrderJsonWriter(prices);
+        // Tolerate fields added by newer producers.
+        this.mapper = new ObjectMapper()
+                .registerModule(new OrderJsonModule(prices))
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(OrderEvent event) {
+        return writer.write(event);
+    }
+
+    @Override
+    public OrderEvent decode(byte[] data) {
+        try {
+            return mapper.readValue(data, OrderEvent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error deserializing order event", e);
+        }
+    }
+}
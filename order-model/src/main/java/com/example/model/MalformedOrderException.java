@@ -0,0 +1,10 @@
+package com.example.model;
+
+// A record that isn't a valid order in the format its header names (truncated, a foreign
+// payload, an unknown version). Retrying can't fix it, so consumers should skip it.
+public class MalformedOrderException extends IllegalArgumentException {
+
+    public MalformedOrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.model;
+
+// ================================
+// 🔌 OrderCodec — wire format SPI
+// ================================
+// How an OrderEvent becomes Kafka value bytes, and back (decode: see OrderDecoder).
+// Every record carries the codec name in the `order-codec` header, so several formats
+// can live on the same topic (e.g. JSON and binary side by side during a migration).
+//
+// To add a format: implement this interface and register it as a bean — OrderCodecs picks
+// it up. analytics-service must have an OrderDecoder for every format order-service produces.
+public interface OrderCodec extends OrderDecoder {
+
+    byte[] encode(OrderEvent event);
+}
@@ -0,0 +1,92 @@
+package com.example.model;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ================================
+// 🗂️ OrderCodecs — registry of every OrderDecoder / OrderCodec bean
+// ================================
+// Resolves the format of a consumed record from its `order-codec` header, so JSON and
+// binary records can be mixed on the same topic. A publishing service also names the
+// codec it writes with (order-service: `app.orders.codec`, default json).
+public class OrderCodecs {
+
+    // Kafka record header that names the value's codec.
+    public static final String HEADER = "order-codec";
+
+    private final Map<String, OrderDecoder> byName = new HashMap<>();
+
+    // Header values as bytes, so the per-record lookup compares bytes instead of building a String.
+    private final byte[][] headerValues;
+    private final OrderDecoder[] headerDecoders;
+
+    private final OrderCodec publishCodec;
+    private final byte[] publishHeaderValue;
+
+    // Consume only: no publish codec.
+    public OrderCodecs(List<? extends OrderDecoder> decoders) {
+        this(decoders, null);
+    }
+
+    public OrderCodecs(List<? extends OrderDecoder> decoders, String publishCodecName) {
+        headerValues = new byte[decoders.size()][];
+        headerDecoders = new OrderDecoder[decoders.size()];
+        for (int i = 0; i < decoders.size(); i++) {
+            OrderDecoder decoder = decoders.get(i);
+            byName.put(decoder.name(), decoder);
+            headerValues[i] = decoder.name().getBytes(StandardCharsets.UTF_8);
+            headerDecoders[i] = decoder;
+        }
+        if (publishCodecName == null) {
+            publishCodec = null;
+            publishHeaderValue = null;
+        } else if (forName(publishCodecName) instanceof OrderCodec codec) {
+            publishCodec = codec;
+            publishHeaderValue = publishCodecName.getBytes(StandardCharsets.UTF_8);
+        } else {
+            throw new IllegalArgumentException("Order codec '" + publishCodecName + "' can only decode");
+        }
+    }
+
+    public OrderDecoder forName(String name) {
+        OrderDecoder decoder = byName.get(name);
+        if (decoder == null) {
+            throw new IllegalArgumentException("Unknown order codec '" + name + "', known: " + byName.keySet());
+        }
+        return decoder;
+    }
+
+    // No header means a record written before codecs existed → JSON.
+    public OrderDecoder forHeaders(Headers headers) {
+        Header header = headers.lastHeader(HEADER);
+        if (header == null) {
+            return forName(JsonOrderCodec.NAME);
+        }
+        byte[] value = header.value();
+        for (int i = 0; i < headerValues.length; i++) {
+            if (Arrays.equals(headerValues[i], value)) {
+                return headerDecoders[i];
+            }
+        }
+        return forName(new String(value, StandardCharsets.UTF_8)); // throws: unknown codec
+    }
+
+    public OrderCodec publishCodec() {
+        if (publishCodec == null) {
+            throw new IllegalStateException("No publish codec configured");
+        }
+        return publishCodec;
+    }
+
+    // Header value for publishCodec(), shared to avoid a byte[] per record.
+    public byte[] publishHeaderValue() {
+        publishCodec();
+        return publishHeaderValue;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.model;
+
+// ================================
+// 🔌 OrderDecoder — wire format SPI, read side
+// ================================
+// How Kafka value bytes become an OrderEvent. OrderCodec adds the write side.
+// A format that only needs reading (e.g. analytics-service's binary decoder, which has
+// no symbol dictionary to assign ids from) implements just this half.
+public interface OrderDecoder {
+
+    // Name written to the `order-codec` record header, e.g. "json" or "binary".
+    String name();
+
+    OrderEvent decode(byte[] data);
+}
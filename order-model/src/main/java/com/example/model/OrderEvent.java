@@ -0,0 +1,39 @@
+
+package com.example.model;
+
+// An order as it travels on the orders topic (JSON shape: orderId, symbol, side, qty, price;
+// written and read by OrderJsonModule, which converts "price" to and from ticks).
+public class OrderEvent {
+    private String orderId;
+    private String symbol;
+    private Side side;
+    private int qty;
+    private long priceTicks; // fixed-point price, see Prices
+
+    public OrderEvent() {}
+
+    public OrderEvent(String orderId, String symbol, Side side, int qty, long priceTicks) {
+        this.orderId = orderId;
+        this.symbol = symbol;
+        this.side = side;
+        this.qty = qty;
+        this.priceTicks = priceTicks;
+    }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public Side getSide() { return side; }
+    public void setSide(Side side) { this.side = side; }
+    public int getQty() { return qty; }
+    public void setQty(int qty) { this.qty = qty; }
+    public long getPriceTicks() { return priceTicks; }
+    public void setPriceTicks(long priceTicks) { this.priceTicks = priceTicks; }
+
+    @Override
+    public String toString() {
+        return "OrderEvent{orderId=" + orderId + ", symbol=" + symbol + ", side=" + side
+                + ", qty=" + qty + ", priceTicks=" + priceTicks + "}";
+    }
+}
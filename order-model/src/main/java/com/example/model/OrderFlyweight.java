@@ -0,0 +1,87 @@
+package com.example.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+// ================================
+// 🪶 OrderFlyweight — zero-copy view over a binary order record
+// ================================
+// Reads symbol id, side, qty and price straight out of the record's byte[] (layout: see
+// BinaryOrderFormat). Nothing is copied and no String or OrderEvent is created unless
+// you explicitly ask for one (orderId()). Symbol names come from analytics-service's
+// SymbolTable by id.
+//
+// One instance is reused for every record: call wrap(bytes) and then read fields.
+// Not thread-safe — keep one per listener thread.
+//
+// Analogy: instead of photocopying every letter to read the amount,
+// you just look through a window cut at the right spot of the envelope.
+public final class OrderFlyweight {
+
+    // Big-endian int/long reads directly from a byte[] — no ByteBuffer wrapper per record.
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Prices prices;
+
+    private byte[] data;
+    private int orderIdOffset;
+    private int orderIdLength;
+    private int symbolIdOffset;
+    private int sideOffset;
+
+    public OrderFlyweight(Prices prices) {
+        this.prices = prices;
+    }
+
+    // Points the view at a new record. Length, version and side are checked here, so the
+    // accessors' fixed-offset reads stay in bounds; a truncated or foreign record is
+    // rejected with a MalformedOrderException instead of an IndexOutOfBoundsException later.
+    public OrderFlyweight wrap(byte[] data) {
+        orderIdLength = BinaryOrderFormat.validate(data);
+        this.data = data;
+        orderIdOffset = 3;
+        symbolIdOffset = orderIdOffset + Math.max(orderIdLength, 0);
+        sideOffset = symbolIdOffset + 4;
+        return this;
+    }
+
+    public byte side() {
+        return data[sideOffset];
+    }
+
+    public boolean isBuy() {
+        return side() == Side.BUY.code();
+    }
+
+    public int qty() {
+        return (int) INT.get(data, sideOffset + 1);
+    }
+
+    // Decimals the producer used for the price (see Prices).
+    public int priceDecimals() {
+        return data[sideOffset + 5];
+    }
+
+    // Raw ticks as written by the producer (scale = priceDecimals()).
+    public long rawPriceTicks() {
+        return (long) LONG.get(data, sideOffset + 6);
+    }
+
+    // Price ticks at our configured scale — exact, allocation-free.
+    public long priceTicks() {
+        return prices.rescale(rawPriceTicks(), priceDecimals());
+    }
+
+    // Int id of the symbol (a hash; analytics-service resolves it through SymbolTable).
+    public int symbolId() {
+        return (int) INT.get(data, symbolIdOffset);
+    }
+
+    // ⚠️ Allocating accessor — only for logging / slow paths.
+    public String orderId() {
+        return orderIdLength < 0 ? null : new String(data, orderIdOffset, orderIdLength, StandardCharsets.UTF_8);
+    }
+}
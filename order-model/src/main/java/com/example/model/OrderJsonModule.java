@@ -0,0 +1,103 @@
+package com.example.model;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// ================================
+// 🧩 OrderJsonModule — OrderEvent's JSON shape
+// ================================
+// {"orderId":..., "symbol":..., "side":"BUY"|"SELL", "qty":..., "price":188.25}
+// "price" is a decimal number on the wire and ticks in OrderEvent, converted with the
+// injected Prices. Registered as a bean, so Spring Boot's ObjectMapper (MVC, WebFlux,
+// the stream ingestor) binds orders with it; JsonOrderCodec registers its own copy.
+//
+// A price that isn't a whole number of ticks is an InvalidFormatException, which the web
+// layer answers with 400 like any other malformed field. Unknown fields follow the
+// mapper's FAIL_ON_UNKNOWN_PROPERTIES setting.
+public class OrderJsonModule extends SimpleModule {
+
+    public OrderJsonModule(Prices prices) {
+        super("OrderJsonModule");
+        addSerializer(OrderEvent.class, new Serializer(prices));
+        addDeserializer(OrderEvent.class, new Deserializer(prices));
+    }
+
+    private static final class Serializer extends JsonSerializer<OrderEvent> {
+        private final Prices prices;
+
+        Serializer(Prices prices) {
+            this.prices = prices;
+        }
+
+        @Override
+        public void serialize(OrderEvent event, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            OrderJsonWriter.writeObject(gen, event, prices);
+        }
+    }
+
+    private static final class Deserializer extends JsonDeserializer<OrderEvent> {
+        private final Prices prices;
+
+        Deserializer(Prices prices) {
+            this.prices = prices;
+        }
+
+        @Override
+        public OrderEvent deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (OrderEvent) ctxt.handleUnexpectedToken(OrderEvent.class, p);
+            }
+            OrderEvent event = new OrderEvent();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "orderId" -> event.setOrderId(read(p, ctxt, String.class));
+                    case "symbol" -> event.setSymbol(read(p, ctxt, String.class));
+                    case "side" -> event.setSide(read(p, ctxt, Side.class));
+                    case "qty" -> {
+                        Integer qty = read(p, ctxt, Integer.class);
+                        event.setQty(qty == null ? 0 : qty);
+                    }
+                    case "price" -> {
+                        BigDecimal price = read(p, ctxt, BigDecimal.class);
+                        if (price != null) {
+                            event.setPriceTicks(toTicks(p, price));
+                        }
+                    }
+                    default -> ctxt.handleUnknownProperty(p, this, OrderEvent.class, field);
+                }
+            }
+            return event;
+        }
+
+        // null stays null (JSON null or a missing field both mean "not set").
+        private static <T> T read(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+            return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+        }
+
+        private long toTicks(JsonParser p, BigDecimal price) throws IOException {
+            try {
+                return prices.toTicks(price);
+            } catch (IllegalArgumentException e) {
+                throw InvalidFormatException.from(p, e.getMessage(), price, BigDecimal.class);
+            }
+        }
+    }
+}
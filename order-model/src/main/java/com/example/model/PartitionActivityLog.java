@@ -0,0 +1,91 @@
+package com.example.model;
+
+// ================================
+// 📦 Imports
+// ================================
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// ================================
+// 🪵 PartitionActivityLog
+// ================================
+// Replaces "one INFO line per record" (costly: it ran on the producer's I/O thread in
+// order-service, and delayed the next poll on analytics-service's listener thread) with:
+//
+//   1️⃣ record(): a few counter updates per record (acked or consumed), per partition.
+//   2️⃣ summarize() (scheduled): one line per active partition per interval —
+//      records, offset range, bytes.
+//   3️⃣ logPayload(): whether to also log this record in full —
+//      1 in `payload-sample-every` records, every record with `full-capture: true`,
+//      or every record while the caller's logger is at DEBUG
+//      (switch at runtime: POST /actuator/loggers/<logger> {"configuredLevel":"DEBUG"}).
+//
+// Each service registers it as a bean with its own verb ("Published" / "Consumed"),
+// which starts every summary line.
+public class PartitionActivityLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionActivityLog.class);
+
+    private final String verb;
+    private final int sampleEvery;
+    private final boolean fullCapture;
+    private final ConcurrentMap<Integer, Window> partitions = new ConcurrentHashMap<>();
+    private long windowStart = System.nanoTime();
+
+    public PartitionActivityLog(String verb, int sampleEvery, boolean fullCapture) {
+        this.verb = verb;
+        this.sampleEvery = sampleEvery;
+        this.fullCapture = fullCapture;
+    }
+
+    public void record(int partition, long offset, int bytes) {
+        Window window = partitions.get(partition);
+        if (window == null) {
+            window = partitions.computeIfAbsent(partition, p -> new Window());
+        }
+        window.count.increment();
+        window.bytes.add(bytes);
+        window.firstOffset.accumulateAndGet(offset, Math::min);
+        window.lastOffset.accumulateAndGet(offset, Math::max);
+    }
+
+    public boolean logPayload(Logger logger) {
+        return fullCapture
+                || logger.isDebugEnabled()
+                || (sampleEvery > 0 && ThreadLocalRandom.current().nextInt(sampleEvery) == 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.logging.summary-interval-ms:10000}")
+    public void summarize() {
+        long now = System.nanoTime();
+        double seconds = (now - windowStart) / 1e9;
+        windowStart = now;
+        for (Map.Entry<Integer, Window> entry : partitions.entrySet()) {
+            Window window = entry.getValue();
+            long count = window.count.sumThenReset();
+            if (count == 0) {
+                continue;
+            }
+            log.info("{} partition={} records={} offsets={}..{} bytes={} interval={}s",
+                    verb, entry.getKey(), count,
+                    window.firstOffset.getAndSet(Long.MAX_VALUE), window.lastOffset.getAndSet(-1),
+                    window.bytes.sumThenReset(), Math.round(seconds));
+        }
+    }
+
+    // 📊 Counters for one partition in the current interval.
+    private static final class Window {
+        final LongAdder count = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final AtomicLong firstOffset = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong lastOffset = new AtomicLong(-1);
+    }
+}
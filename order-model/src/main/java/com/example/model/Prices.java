@@ -0,0 +1,62 @@
+package com.example.model;
+
+import java.math.BigDecimal;
+
+// ================================
+// 💲 Prices — fixed-point price helpers
+// ================================
+// Prices are carried as a scaled long ("ticks"): price = ticks / 10^decimals.
+// With `app.price.decimals: 4`, 188.25 is stored as 1_882_500.
+// Integer ticks make sums and comparisons exact; no double rounding drift.
+//
+// Immutable: each service builds one Prices bean from `app.price.decimals` and injects it
+// wherever prices cross a boundary — OrderJsonModule (JSON "price"), the binary codecs and
+// the metrics. Binary records carry the producer's decimals and are rescaled to ours (rescale).
+public final class Prices {
+
+    private final int decimals;
+    private final long scale;
+
+    public Prices(int decimals) {
+        if (decimals < 0 || decimals > 9) {
+            throw new IllegalArgumentException("app.price.decimals must be between 0 and 9");
+        }
+        this.decimals = decimals;
+        this.scale = BigDecimal.TEN.pow(decimals).longValueExact();
+    }
+
+    public int decimals() {
+        return decimals;
+    }
+
+    // Exact conversion; rejects prices that aren't a whole number of ticks.
+    public long toTicks(BigDecimal price) {
+        try {
+            return price.movePointRight(decimals).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("price " + price + " is not a multiple of the tick (1e-" + decimals + ")");
+        }
+    }
+
+    // Converts ticks written with another scale (e.g. by a differently configured producer)
+    // to ours. Exact, or ArithmeticException if precision would be lost.
+    public long rescale(long ticks, int fromDecimals) {
+        int diff = decimals - fromDecimals;
+        if (diff == 0) {
+            return ticks;
+        }
+        long factor = BigDecimal.TEN.pow(Math.abs(diff)).longValueExact();
+        if (diff > 0) {
+            return Math.multiplyExact(ticks, factor);
+        }
+        if (ticks % factor != 0) {
+            throw new ArithmeticException("price ticks " + ticks + " lose precision at 1e-" + decimals);
+        }
+        return ticks / factor;
+    }
+
+    // For JSON output: the nearest double is printed with the shortest exact decimal form.
+    public double toDouble(long ticks) {
+        return (double) ticks / scale;
+    }
+}
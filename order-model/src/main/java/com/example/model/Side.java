@@ -0,0 +1,26 @@
+
+package com.example.model;
+
+// Order side. JSON keeps the names ("BUY" / "SELL"); the binary codec uses code().
+public enum Side {
+    BUY((byte) 0),
+    SELL((byte) 1);
+
+    private final byte code;
+
+    Side(byte code) {
+        this.code = code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static Side fromCode(byte code) {
+        return switch (code) {
+            case 0 -> BUY;
+            case 1 -> SELL;
+            default -> throw new IllegalArgumentException("Unknown side code " + code);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ================================
+// 🧪 OrderJsonWriter — allocation per publish
+// ================================
+// The writer's point is to allocate little more than the exact-size byte[] per order
+// (~90 B for the ~70 B order below) plus Jackson's per-call generator. This pins that
+// down, so a change that brings back the intermediate String or a fresh buffer per
+// call fails the build instead of only showing up in SerializationBenchmark.
+//
+// Measured with HotSpot's per-thread allocation counter around N encodes, after a
+// warm-up so the JIT (and escape analysis) has settled. ~440 B/op at the time of
+// writing; the writeValueAsString + getBytes path it replaced is over 700 B/op.
+class OrderJsonWriterAllocationTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ENCODES = 100_000;
+    private static final long MAX_BYTES_PER_ENCODE = 512;
+
+    private final OrderJsonWriter writer = new OrderJsonWriter(new Prices(4));
+    private final OrderEvent event = new OrderEvent("o-1001", "AAPL", Side.BUY, 10, 1_882_500L); // 188.25
+
+    @Test
+    void writesTheOrderJson() {
+        assertEquals("{\"orderId\":\"o-1001\",\"symbol\":\"AAPL\",\"side\":\"BUY\",\"qty\":10,\"price\":188.25}",
+                new String(writer.write(event), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void allocatesLittleMoreThanTheValuePerEncode() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counter not available");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += writer.write(event).length;
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ENCODES; i++) {
+            checksum += writer.write(event).length;
+        }
+        long perEncode = (threads.getThreadAllocatedBytes(thread) - before) / ENCODES;
+
+        // Keeps the results alive, so the loop can't be optimized away.
+        assertTrue(checksum > 0);
+        assertTrue(perEncode <= MAX_BYTES_PER_ENCODE,
+                "OrderJsonWriter allocated " + perEncode + " B per encode, budget is " + MAX_BYTES_PER_ENCODE);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.github.luben.zstd.Zstd;                          // The zstd library the Kafka client itself uses.
+import net.jpountz.lz4.LZ4Compressor;                       // lz4-java, likewise.
+import net.jpountz.lz4.LZ4Factory;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.xerial.snappy.Snappy;                            // snappy-java, likewise.
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+// ================================
+// 🗜️ Component: AdaptiveCompression
+// ================================
+// Picks the producer's `compression.type` from live traffic instead of a fixed setting.
+//
+// 1️⃣ observe(): OrderPublisher hands over every value; we count bytes and keep a
+//    reference to every Nth one in a small ring (no copies).
+// 2️⃣ evaluate() (scheduled): glue the samples into a batch-sized buffer, compress it
+//    with each candidate codec, and measure ratio + CPU time per input byte. The codecs are
+//    the public libraries the Kafka client compresses with (lz4-java, snappy-java, zstd-jni,
+//    JDK gzip) at the client's default levels, called directly — not the client's internals.
+// 3️⃣ Decide:
+//    - quiet (send rate below `low-utilization` × link): cheapest CPU wins — bandwidth is plentiful.
+//    - busy: smallest output wins, among codecs whose CPU cost at the current rate fits `max-cpu-cores`.
+//    A new choice must win twice in a row before we switch (no flapping).
+// 4️⃣ Apply: ProducerPool.reconfigure builds producers with the new codec, swaps them in, then
+//    flushes and closes the old ones — no in-flight send is failed by the switch.
+//
+// The decision and per-codec measurements are exposed at GET /actuator/compression.
+@Component
+public class AdaptiveCompression {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveCompression.class);
+
+    private static final int RING_SIZE = 512;
+    private static final int SAMPLE_BATCH_BYTES = 64 * 1024;
+    private static final int TIMING_ROUNDS = 5;
+    // Kafka's default zstd level (compression.zstd.level); gzip and lz4 use their libraries' defaults too.
+    private static final int ZSTD_LEVEL = 3;
+
+    private static final LZ4Compressor LZ4 = LZ4Factory.fastestInstance().fastCompressor();
+
+    // Every shard of the producer pool gets the same codec.
+    private final ProducerPool producers;
+
+    @Value("${app.compression.adaptive.enabled:false}")
+    private boolean enabled;
+
+    // Candidate codecs, in tie-break order (cheaper first).
+    @Value("${app.compression.adaptive.candidates:none,lz4,snappy,zstd}")
+    private List<String> candidates;
+
+    // Keep a reference to 1 in N values.
+    @Value("${app.compression.adaptive.sample-every:16}")
+    private int sampleEvery;
+
+    // Bandwidth we can use towards the brokers.
+    @Value("${app.compression.adaptive.link-bytes-per-sec:104857600}")
+    private long linkBytesPerSec;
+
+    // Below this share of the link we optimise for CPU, above it for bytes on the wire.
+    @Value("${app.compression.adaptive.low-utilization:0.3}")
+    private double lowUtilization;
+
+    // CPU we are willing to spend on compression when busy (in cores).
+    @Value("${app.compression.adaptive.max-cpu-cores:0.5}")
+    private double maxCpuCores;
+
+    // 🧺 Sampling state
+    private final AtomicReferenceArray<byte[]> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final AtomicLong seen = new AtomicLong();
+    private final LongAdder bytes = new LongAdder();
+    private long lastEvaluationNanos = System.nanoTime();
+
+    // 📋 Decision state (read by the actuator endpoint)
+    private volatile String current;
+    private volatile String pending;
+    private volatile String lastReason = "no evaluation yet";
+    private volatile double lastBytesPerSec;
+    private volatile List<Measurement> lastMeasurements = List.of();
+
+    public AdaptiveCompression(ProducerPool producers) {
+        this.producers = producers;
+        Object configured = producers.factories().get(0).getConfigurationProperties().get(ProducerConfig.COMPRESSION_TYPE_CONFIG);
+        this.current = configured == null ? "none" : configured.toString();
+    }
+
+    // Hot path: one counter add, and a ring write for sampled records.
+    public void observe(byte[] value) {
+        if (!enabled) {
+            return;
+        }
+        bytes.add(value.length);
+        long n = seen.getAndIncrement();
+        if (n % sampleEvery == 0) {
+            ring.set((int) ((n / sampleEvery) % RING_SIZE), value);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.compression.adaptive.evaluate-interval-ms:30000}")
+    public void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        double bytesPerSec = bytes.sumThenReset() * 1e9 / Math.max(1, now - lastEvaluationNanos);
+        lastEvaluationNanos = now;
+        lastBytesPerSec = bytesPerSec;
+
+        ByteBuffer sample = buildSample();
+        if (sample.remaining() == 0) {
+            lastReason = "no traffic sampled";
+            return;
+        }
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (String name : candidates) {
+            measurements.add(measure(name.trim(), sample));
+        }
+        lastMeasurements = measurements;
+
+        Measurement best = choose(measurements, bytesPerSec);
+        if (best.codec().equals(current)) {
+            pending = null;
+        } else if (!best.codec().equals(pending)) {
+            pending = best.codec(); // must win again next round
+        } else {
+            apply(best.codec());
+            pending = null;
+        }
+    }
+
+    // Read model for the actuator endpoint.
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("current", current);
+        status.put("pending", pending);
+        status.put("reason", lastReason);
+        status.put("bytesPerSec", Math.round(lastBytesPerSec));
+        status.put("linkUtilization", lastBytesPerSec / linkBytesPerSec);
+        status.put("candidates", lastMeasurements);
+        return status;
+    }
+
+    private Measurement choose(List<Measurement> measurements, double bytesPerSec) {
+        double utilization = bytesPerSec / linkBytesPerSec;
+        Measurement best = null;
+
+        if (utilization < lowUtilization) {
+            for (Measurement m : measurements) {
+                if (best == null || m.nanosPerByte() < best.nanosPerByte()) {
+                    best = m;
+                }
+            }
+            lastReason = String.format("quiet (%.0f%% of link): lowest CPU", utilization * 100);
+            return best;
+        }
+
+        for (Measurement m : measurements) {
+            double cores = m.nanosPerByte() * bytesPerSec / 1e9;
+            if (cores > maxCpuCores) {
+                continue;
+            }
+            if (best == null || m.ratio() < best.ratio()) {
+                best = m;
+            }
+        }
+        if (best == null) {
+            best = measurements.get(0);
+            lastReason = String.format("busy (%.0f%% of link) but every codec exceeds %.2f cores: fallback", utilization * 100, maxCpuCores);
+        } else {
+            lastReason = String.format("busy (%.0f%% of link): best ratio within %.2f cores", utilization * 100, maxCpuCores);
+        }
+        return best;
+    }
+
+    private void apply(String codec) {
+        log.info("Switching producer compression {} → {} ({})", current, codec, lastReason);
+        producers.reconfigure(Map.of(ProducerConfig.COMPRESSION_TYPE_CONFIG, codec));
+        current = codec;
+    }
+
+    // Concatenates sampled values (newest slots first) up to one typical batch.
+    private ByteBuffer buildSample() {
+        ByteBuffer sample = ByteBuffer.allocate(SAMPLE_BATCH_BYTES);
+        for (int i = 0; i < RING_SIZE && sample.hasRemaining(); i++) {
+            byte[] value = ring.get(i);
+            if (value != null) {
+                sample.put(value, 0, Math.min(value.length, sample.remaining()));
+            }
+        }
+        sample.flip();
+        return sample;
+    }
+
+    private static Measurement measure(String codec, ByteBuffer sample) {
+        byte[] input = Arrays.copyOfRange(sample.array(), sample.arrayOffset() + sample.position(),
+                sample.arrayOffset() + sample.limit());
+        int output = 0;
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            long start = System.nanoTime();
+            output = compressedSize(codec, input);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        return new Measurement(codec, (double) output / input.length, (double) bestNanos / input.length);
+    }
+
+    // Compressed size of `input` with the codec the producer would use for `compression.type`.
+    private static int compressedSize(String codec, byte[] input) {
+        try {
+            return switch (codec) {
+                case "none" -> input.clone().length; // the copy stands in for "no work" in the timing
+                case "lz4" -> LZ4.compress(input).length;
+                case "snappy" -> Snappy.compress(input).length;
+                case "zstd" -> Zstd.compress(input, ZSTD_LEVEL).length;
+                case "gzip" -> gzip(input);
+                default -> throw new IllegalArgumentException("Unknown compression codec in app.compression.adaptive.candidates: " + codec);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Compression sample failed for " + codec, e);
+        }
+    }
+
+    private static int gzip(byte[] input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+        try (GZIPOutputStream stream = new GZIPOutputStream(out, 8 * 1024)) {
+            stream.write(input);
+        }
+        return out.size();
+    }
+
+    // ratio = compressed / original bytes; nanosPerByte = CPU cost per input byte.
+    public record Measurement(String codec, double ratio, double nanosPerByte) {}
+}
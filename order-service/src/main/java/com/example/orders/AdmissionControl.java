@@ -0,0 +1,125 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// ================================
+// 🚦 Component: AdmissionControl
+// ================================
+// Fast-fail load shedding in front of the producer.
+//
+// Once the producer's buffer.memory is full, KafkaTemplate.send() blocks the calling
+// (Tomcat) thread for up to max.block.ms; enough of those and every endpoint stalls.
+// So we count what is currently inside the producers — bytes and records handed to
+// send() but not yet acked — and refuse new orders (429 + Retry-After) above a high
+// watermark, before anything blocks.
+//
+// Hysteresis: once shedding starts it continues until both counters fall below the low
+// watermarks, so admission doesn't flap around a single threshold.
+//
+// Pressure signal (Micrometer): orders.admission.pressure = max(bytes, records) relative
+// to the high watermark (1.0 = shedding starts), plus in-flight gauges and a rejected counter.
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final long highBytes;
+    private final long lowBytes;
+    private final long highRecords;
+    private final long lowRecords;
+    private final long retryAfterSeconds;
+
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong inFlightRecords = new AtomicLong();
+    private volatile boolean shedding;
+    private final Counter rejected;
+
+    public AdmissionControl(MeterRegistry registry,
+                            @Value("${app.admission.high-watermark-bytes:25165824}") long highBytes,
+                            @Value("${app.admission.low-watermark-bytes:16777216}") long lowBytes,
+                            @Value("${app.admission.high-watermark-records:100000}") long highRecords,
+                            @Value("${app.admission.low-watermark-records:50000}") long lowRecords,
+                            @Value("${app.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.highBytes = highBytes;
+        this.lowBytes = lowBytes;
+        this.highRecords = highRecords;
+        this.lowRecords = lowRecords;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("orders.admission.inflight.bytes", inFlightBytes, AtomicLong::get)
+                .description("Bytes handed to the producer and not yet acked")
+                .register(registry);
+        Gauge.builder("orders.admission.inflight.records", inFlightRecords, AtomicLong::get)
+                .description("Records handed to the producer and not yet acked")
+                .register(registry);
+        Gauge.builder("orders.admission.pressure", this, AdmissionControl::pressure)
+                .description("In-flight load relative to the high watermark (1.0 = shedding)")
+                .register(registry);
+        this.rejected = Counter.builder("orders.admission.rejected")
+                .description("Orders refused with 429")
+                .register(registry);
+    }
+
+    // Throws OverloadedException (→ 429) if the producers are too full to take more work.
+    public void admit() {
+        if (shedding()) {
+            rejected.increment();
+            throw new OverloadedException(retryAfterSeconds);
+        }
+    }
+
+    // For callers that can't hand a 429 back (the NDJSON stream): blocks until admit() would
+    // let the next order through, polling every pollMs. Not counted as rejections.
+    public void awaitAdmission(long pollMs) throws InterruptedException {
+        while (shedding()) {
+            Thread.sleep(pollMs);
+        }
+    }
+
+    private boolean shedding() {
+        long bytes = inFlightBytes.get();
+        long records = inFlightRecords.get();
+        if (shedding) {
+            if (bytes < lowBytes && records < lowRecords) {
+                shedding = false;
+                log.info("Admission reopened (in flight: {} bytes, {} records)", bytes, records);
+            }
+        } else if (bytes >= highBytes || records >= highRecords) {
+            shedding = true;
+            log.warn("Shedding load (in flight: {} bytes, {} records)", bytes, records);
+        }
+        return shedding;
+    }
+
+    // For bounded queues in front of the producer: a full queue is shed like full producers.
+    public OverloadedException overloaded() {
+        rejected.increment();
+        return new OverloadedException(retryAfterSeconds);
+    }
+
+    // Bracket every producer send (or transaction) with these two.
+    public void sent(int records, long bytes) {
+        inFlightBytes.addAndGet(bytes);
+        inFlightRecords.addAndGet(records);
+    }
+
+    public void completed(int records, long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+        inFlightRecords.addAndGet(-records);
+    }
+
+    public double pressure() {
+        return Math.max((double) inFlightBytes.get() / highBytes, (double) inFlightRecords.get() / highRecords);
+    }
+}
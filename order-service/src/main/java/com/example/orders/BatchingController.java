@@ -0,0 +1,184 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// ================================
+// 🚌 Component: BatchingController
+// ================================
+// Tunes the producers' batch.size and linger.ms from their own metrics.
+// Only the DURABLE tier: the fast lane keeps its own fixed, latency-first settings.
+//
+// Inputs (Kafka producer metrics, summed/averaged over the pool):
+//   rate    = record-send-rate                                 (records/s)
+//   fill    = batch-size-avg / batch.size                      (how full batches leave)
+//   latency = record-queue-time-avg + request-latency-avg      (ms from send() to ack)
+//
+// Rules, checked in order:
+//   quiet        rate below `quiet-records-per-sec` → minimum linger: nobody to wait for.
+//   lower-linger latency above the budget → halve linger.
+//   grow-batch   batches leave ≥90% full → double batch.size (up to max).
+//   raise-linger latency under half the budget → double linger (up to max), so batches fill.
+//   hold         otherwise.
+//
+// Like AdaptiveCompression, a change must be proposed twice in a row before it is applied,
+// and it is applied the same way: ProducerPool.reconfigure swaps in new durable producers and
+// drains the old ones. New producers start with empty metrics, so the first evaluation after
+// any swap (ours or a codec switch) only observes. Every decision increments
+// orders.batching.decisions{action=...}; the current values and inputs are gauges.
+@Component
+public class BatchingController {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingController.class);
+
+    private static final String PRODUCER_METRICS = "producer-metrics";
+    private static final double FULL = 0.9;
+
+    private final ProducerPool producers;
+    private final MeterRegistry registry;
+
+    @Value("${app.batching.adaptive.enabled:false}")
+    private boolean enabled;
+
+    // Send → ack latency we're willing to spend on batching (average, ms).
+    @Value("${app.batching.adaptive.latency-budget-ms:20}")
+    private double latencyBudgetMs;
+
+    @Value("${app.batching.adaptive.quiet-records-per-sec:500}")
+    private double quietRecordsPerSec;
+
+    @Value("${app.batching.adaptive.min-linger-ms:0}")
+    private int minLingerMs;
+
+    @Value("${app.batching.adaptive.max-linger-ms:50}")
+    private int maxLingerMs;
+
+    @Value("${app.batching.adaptive.max-batch-size:1048576}")
+    private int maxBatchSize;
+
+    // 📋 Current settings and last inputs (gauges)
+    private volatile int batchSize;
+    private volatile int lingerMs;
+    private volatile double lastRate;
+    private volatile double lastFill;
+    private volatile double lastLatencyMs;
+    private String pending;
+    private long generation;
+
+    public BatchingController(ProducerPool producers, MeterRegistry registry) {
+        this.producers = producers;
+        this.registry = registry;
+        Map<String, Object> configs = producers.factories(Durability.DURABLE).get(0).getConfigurationProperties();
+        this.batchSize = Integer.parseInt(String.valueOf(configs.getOrDefault(ProducerConfig.BATCH_SIZE_CONFIG, 16384)));
+        this.lingerMs = Integer.parseInt(String.valueOf(configs.getOrDefault(ProducerConfig.LINGER_MS_CONFIG, 0)));
+        this.generation = producers.generation();
+
+        Gauge.builder("orders.batching.batch.size", this, c -> c.batchSize).register(registry);
+        Gauge.builder("orders.batching.linger.ms", this, c -> c.lingerMs).register(registry);
+        Gauge.builder("orders.batching.send.rate", this, c -> c.lastRate).register(registry);
+        Gauge.builder("orders.batching.fill", this, c -> c.lastFill).register(registry);
+        Gauge.builder("orders.batching.latency.ms", this, c -> c.lastLatencyMs).register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.batching.adaptive.evaluate-interval-ms:15000}")
+    public void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        long current = producers.generation();
+        if (current != generation) {
+            generation = current; // fresh producers: their rates and averages aren't meaningful yet
+            pending = null;
+            return;
+        }
+        double rate = 0;
+        double batchBytes = 0;
+        double latency = 0;
+        int shards = 0;
+        for (KafkaTemplate<String, byte[]> template : producers.templates(Durability.DURABLE)) {
+            Map<MetricName, ? extends Metric> metrics = template.metrics();
+            rate += value(metrics, "record-send-rate");
+            batchBytes += value(metrics, "batch-size-avg");
+            latency += value(metrics, "record-queue-time-avg") + value(metrics, "request-latency-avg");
+            shards++;
+        }
+        double fill = batchBytes / shards / batchSize;
+        latency /= shards;
+        lastRate = rate;
+        lastFill = fill;
+        lastLatencyMs = latency;
+
+        int nextBatch = batchSize;
+        int nextLinger = lingerMs;
+        String action;
+        if (rate < quietRecordsPerSec) {
+            action = "quiet";
+            nextLinger = minLingerMs;
+        } else if (latency > latencyBudgetMs) {
+            action = "lower-linger";
+            nextLinger = Math.max(minLingerMs, lingerMs / 2);
+        } else if (fill >= FULL && batchSize < maxBatchSize) {
+            action = "grow-batch";
+            nextBatch = Math.min(maxBatchSize, batchSize * 2);
+        } else if (latency < latencyBudgetMs / 2 && lingerMs < maxLingerMs) {
+            action = "raise-linger";
+            nextLinger = Math.min(maxLingerMs, Math.max(1, lingerMs * 2));
+        } else {
+            action = "hold";
+        }
+        if (nextBatch == batchSize && nextLinger == lingerMs) {
+            action = "hold"; // e.g. quiet, but linger is already at its minimum
+        }
+        registry.counter("orders.batching.decisions", "action", action).increment();
+
+        String proposal = nextBatch + "/" + nextLinger;
+        if (action.equals("hold")) {
+            pending = null;
+        } else if (!proposal.equals(pending)) {
+            pending = proposal; // must be proposed again next round
+        } else {
+            log.info("Batching {}: batch.size {} → {}, linger.ms {} → {} (rate={}/s fill={} latency={}ms budget={}ms)",
+                    action, batchSize, nextBatch, lingerMs, nextLinger,
+                    Math.round(rate), String.format("%.2f", fill), String.format("%.1f", latency), latencyBudgetMs);
+            apply(nextBatch, nextLinger);
+            pending = null;
+        }
+    }
+
+    private void apply(int nextBatch, int nextLinger) {
+        producers.reconfigure(Durability.DURABLE, Map.of(
+                ProducerConfig.BATCH_SIZE_CONFIG, nextBatch,
+                ProducerConfig.LINGER_MS_CONFIG, nextLinger));
+        batchSize = nextBatch;
+        lingerMs = nextLinger;
+    }
+
+    // A producer-metrics value, or 0 if the metric has no data yet (NaN).
+    private static double value(Map<MetricName, ? extends Metric> metrics, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : metrics.entrySet()) {
+            MetricName metricName = entry.getKey();
+            if (metricName.name().equals(name) && metricName.group().equals(PRODUCER_METRICS)) {
+                Object value = entry.getValue().metricValue();
+                if (value instanceof Double d && !d.isNaN() && !d.isInfinite()) {
+                    return d;
+                }
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
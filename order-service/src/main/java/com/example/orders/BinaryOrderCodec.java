@@ -0,0 +1,45 @@
+package com.example.orders;
+
+import com.example.model.BinaryOrderFormat;
+import com.example.model.OrderCodec;
+import com.example.model.OrderEvent;
+import com.example.model.Prices;
+import org.springframework.stereotype.Component;
+
+// ================================
+// 📦 Binary codec — BinaryOrderFormat with symbol ids from SymbolDictionary
+// ================================
+// The layout lives in order-model (shared with analytics-service); this side assigns the
+// ids: the first order with a new symbol publishes its mapping to app.topic.symbols.
+@Component
+public class BinaryOrderCodec implements OrderCodec {
+
+    public static final String NAME = BinaryOrderFormat.NAME;
+
+    // 📖 symbol ↔ int id
+    private final SymbolDictionary symbols;
+    private final Prices prices;
+
+    public BinaryOrderCodec(SymbolDictionary symbols, Prices prices) {
+        this.symbols = symbols;
+        this.prices = prices;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(OrderEvent event) {
+        if (event.getSymbol() == null || event.getSide() == null) {
+            throw new IllegalArgumentException("symbol and side are required for binary orders");
+        }
+        return BinaryOrderFormat.encode(event, symbols.idFor(event.getSymbol()), prices);
+    }
+
+    @Override
+    public OrderEvent decode(byte[] data) {
+        return BinaryOrderFormat.decode(data, symbols::symbolFor, prices);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.orders;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 🗜️ GET /actuator/compression — current producer codec, why it was picked, and the last measurements.
+@Component
+@Endpoint(id = "compression")
+public class CompressionEndpoint {
+    private final AdaptiveCompression compression;
+
+    public CompressionEndpoint(AdaptiveCompression compression) {
+        this.compression = compression;
+    }
+
+    @ReadOperation
+    public Map<String, Object> compression() {
+        return compression.status();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.orders;
+
+// Durability tier of a publish: which producer (and acks setting) carries the order.
+//   DURABLE → acks=all + idempotence: the broker acks once every in-sync replica has it.
+//   FAST    → acks=1, no idempotence: the leader's ack is enough; lower latency, but an
+//             order can be lost if the leader dies before replicating it.
+public enum Durability {
+    DURABLE,
+    FAST;
+
+    // "fast" / "durable" (any case), or null if absent/unknown.
+    public static Durability parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "fast" -> FAST;
+            case "durable" -> DURABLE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.OrderEvent;
+import com.example.model.Prices;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// ================================
+// 🛡️ Component: DurabilityPolicy
+// ================================
+// Picks the durability tier for one order:
+//   1️⃣ the request's `X-Durability: fast|durable` header, if present;
+//   2️⃣ otherwise its class by value: notional (qty × price) up to
+//      `app.durability.fast-lane.max-notional` → FAST (0 disables this rule);
+//   3️⃣ otherwise DURABLE.
+// Without the fast lane enabled everything is DURABLE, whatever the header says.
+@Component
+public class DurabilityPolicy {
+
+    public static final String HEADER = "X-Durability";
+
+    private final boolean fastLane;
+    private final long maxFastNotionalTicks;
+
+    public DurabilityPolicy(Prices prices,
+                            @Value("${app.durability.fast-lane.enabled:false}") boolean fastLane,
+                            @Value("${app.durability.fast-lane.max-notional:0}") BigDecimal maxFastNotional) {
+        this.fastLane = fastLane;
+        this.maxFastNotionalTicks = prices.toTicks(maxFastNotional);
+    }
+
+    public Durability resolve(String header, OrderEvent event) {
+        if (!fastLane) {
+            return Durability.DURABLE;
+        }
+        Durability requested = Durability.parse(header);
+        if (requested != null) {
+            return requested;
+        }
+        if (maxFastNotionalTicks > 0 && event != null) {
+            // price ≤ max / qty  ⇔  qty × price ≤ max, without overflowing the product.
+            long qty = Math.max(1, event.getQty());
+            if (event.getPriceTicks() <= maxFastNotionalTicks / qty) {
+                return Durability.FAST;
+            }
+        }
+        return Durability.DURABLE;
+    }
+}
@@ -6,6 +6,7 @@ package com.example.orders;
 // These are the Kafka and Spring Boot dependencies we need.
 import org.apache.kafka.clients.admin.NewTopic;                     // Used to programmatically create a topic if it doesn't exist.
 import org.apache.kafka.clients.producer.ProducerConfig;            // Contains predefined config keys for Kafka producers.
+import org.apache.kafka.common.serialization.ByteArraySerializer;   // Passes byte[] values through untouched.
 import org.apache.kafka.common.serialization.StringSerializer;      // Serializes Java Strings into bytes for Kafka.
 import org.springframework.beans.factory.annotation.Value;          // Used to read values from application.yml.
 import org.springframework.context.annotation.Bean;
@@ -35,24 +36,58 @@ public class KafkaProducerConfig {
     @Value("${app.topic.orders}")
     private String ordersTopic; // The topic name where we'll send messages (e.g. "orders.v1")
 
+    @Value("${app.compression.type:none}")
+    private String compressionType; // Starting codec; AdaptiveCompression may change it at runtime.
+
+    @Value("${app.topic.symbols}")
+    private String symbolsTopic; // Compacted id → symbol dictionary (e.g. "orders.symbols.v1")
+
+    @Value("${app.producer.max-block-ms:5000}")
+    private long maxBlockMs;    // Upper bound for a blocked send() (AdmissionControl normally sheds long before)
+
+    @Value("${app.batching.batch-size:16384}")
+    private int batchSize;      // Starting batch.size; BatchingController may change it at runtime.
+
+    @Value("${app.batching.linger-ms:0}")
+    private long lingerMs;      // Starting linger.ms; BatchingController may change it at runtime.
+
+    @Value("${app.producer.pool-size:1}")
+    private int poolSize;       // Independent producers order traffic is spread over (see ProducerPool)
+
+    @Value("${app.durability.fast-lane.enabled:false}")
+    private boolean fastLane;   // Extra acks=1 producers for orders that don't need full durability
+
+    @Value("${app.durability.fast-lane.linger-ms:0}")
+    private long fastLaneLingerMs;
+
     // =======================
     // 🏭 1. Producer Factory
     // =======================
     // Think of this as the "factory" that creates Kafka producer clients
     // — each one knows *how* to connect and *how* to serialize messages.
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
+        Map<String, Object> props = producerProps();
+
+        // 2️⃣ Serializer for key/value (must match consumer deserializer).
+        // Kafka stores bytes — serializers convert objects → bytes.
+        // The value is already UTF-8 JSON bytes (OrderJsonWriter or the raw request body),
+        // so ByteArraySerializer just passes it through — no extra String → byte[] copy.
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        // Return a factory that creates producers using this configuration.
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    // Settings shared by every producer this service creates.
+    private Map<String, Object> producerProps() {
         // Configuration map for Kafka producer.
         Map<String, Object> props = new HashMap<>();
 
         // 1️⃣ Which Kafka broker(s) to connect to.
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
 
-        // 2️⃣ Serializer for key/value (must match consumer deserializer).
-        // Kafka stores bytes — serializers convert objects → bytes.
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-
         // =======================
         // 🧱 Safe Producer Settings (important for reliability)
         // =======================
@@ -68,8 +103,20 @@ public class KafkaProducerConfig {
         //   A small safety net for transient network or broker hiccups.
         props.put(ProducerConfig.RETRIES_CONFIG, 3);
 
-        // Return a factory that creates producers using this configuration.
-        return new DefaultKafkaProducerFactory<>(props);
+        // COMPRESSION_TYPE: codec applied to whole batches (none / lz4 / snappy / zstd / gzip).
+        //   Analogy: vacuum-packing the parcel — smaller to ship, but packing takes effort.
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        // BATCH_SIZE / LINGER_MS: how many bytes per partition batch, and how long to wait for
+        //   a batch to fill before sending it anyway. Analogy: the bus leaves when full or on schedule.
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+
+        // MAX_BLOCK_MS: how long send() may block on metadata or a full buffer (default 60s).
+        //   A request thread stuck that long is worse than a fast error.
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
+        return props;
     }
 
     // =======================
@@ -81,12 +128,34 @@ public class KafkaProducerConfig {
     // Analogy: Instead of writing TCP socket code to send a message,
     // you get a ready-made "sendMessage()" button.
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
     // =======================
-    // 🪣 3. Optional Topic Creation
+    // 🎱 3. Producer Pool
+    // =======================
+    // Order sends go through N producers picked by key hash, so request threads on
+    // big machines don't all queue on one producer's accumulator. Shard 0 starts as kafkaTemplate().
+    //
+    // With the fast lane on, a second set of N producers trades durability for latency:
+    //   acks=1       → the partition leader's ack is enough (no wait for followers).
+    //   idempotence  → off (it requires acks=all); a retry may duplicate or reorder an order.
+    //   linger.ms    → its own value, independent of the durable tier's batching.
+    @Bean
+    public ProducerPool producerPool() {
+        Map<String, Object> fastOverrides = null;
+        if (fastLane) {
+            fastOverrides = new HashMap<>();
+            fastOverrides.put(ProducerConfig.ACKS_CONFIG, "1");
+            fastOverrides.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+            fastOverrides.put(ProducerConfig.LINGER_MS_CONFIG, fastLaneLingerMs);
+        }
+        return new ProducerPool(kafkaTemplate(), poolSize, fastOverrides);
+    }
+
+    // =======================
+    // 🪣 4. Optional Topic Creation
     // =======================
     // Kafka can auto-create topics (if allowed), but defining them explicitly
     // ensures consistent partition count and replication settings.
@@ -103,4 +172,19 @@ public class KafkaProducerConfig {
                 .replicas(1)
                 .build();
     }
+
+    // =======================
+    // 📖 5. Symbol Dictionary Topic
+    // =======================
+    // Compacted: Kafka keeps the latest value per key (symbol id) forever,
+    // so a consumer replaying it from the start always gets the full dictionary.
+    // One partition keeps replay simple; it only holds a few thousand tiny records.
+    @Bean
+    public NewTopic symbolsTopic() {
+        return TopicBuilder.name(symbolsTopic)
+                .partitions(1)
+                .replicas(1)
+                .compact()
+                .build();
+    }
 }
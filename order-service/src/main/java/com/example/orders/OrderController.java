@@ -1,21 +1,146 @@
 
 package com.example.orders;
 
+import com.example.model.OrderEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Servlet (Tomcat) ingestion path. The `reactive` profile swaps in ReactiveOrderController instead.
 @RestController
 @RequestMapping("/orders")
+@Profile("!reactive")
 public class OrderController {
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final OrderPublisher publisher;
+    private final ObjectMapper mapper;
+    private final OrderStreamIngestor streamIngestor;
+    private final TransactionalOrderPublisher transactions;
+
+    // Upper bound on orders per batch request, so one call can't hold the whole heap.
+    @Value("${app.orders.batch.max-size:10000}")
+    private int maxBatchSize;
 
-    public OrderController(OrderPublisher publisher) {
+    public OrderController(OrderPublisher publisher, ObjectMapper mapper, OrderStreamIngestor streamIngestor,
+                           TransactionalOrderPublisher transactions) {
         this.publisher = publisher;
+        this.mapper = mapper;
+        this.streamIngestor = streamIngestor;
+        this.transactions = transactions;
     }
 
     @PostMapping
-    public ResponseEntity<String> createOrder(@RequestBody OrderEvent event) {
-        publisher.publish(event);
+    public ResponseEntity<String> createOrder(@RequestBody OrderEvent event,
+                                              @RequestHeader(name = DurabilityPolicy.HEADER, required = false) String durability) {
+        publisher.publish(event, durability);
         return ResponseEntity.ok("Published order " + event.getOrderId());
     }
+
+    // Passthrough: the body is validated with a streaming parser and forwarded byte-for-byte,
+    // skipping the OrderEvent bind + JSON re-serialization.
+    @PostMapping(path = "/raw", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> createOrderRaw(@RequestBody byte[] body,
+                                                 @RequestHeader(name = DurabilityPolicy.HEADER, required = false) String durability) {
+        try {
+            publisher.publishRaw(body, durability);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return ResponseEntity.ok("Published order");
+    }
+
+    // Acknowledged mode (POST /orders?ack=true): the response is only written once the
+    // broker has acked the record. Returning the future releases the Tomcat worker thread
+    // while we wait; Spring MVC completes the response asynchronously.
+    @PostMapping(params = "ack=true")
+    public CompletableFuture<ResponseEntity<PublishResult>> createOrderAcknowledged(
+            @RequestBody OrderEvent event, @RequestHeader(name = DurabilityPolicy.HEADER, required = false) String durability) {
+        return publisher.publishAcknowledged(event, durability)
+                .thenApply(metadata -> ResponseEntity.ok(
+                        PublishResult.ok(event.getOrderId(), metadata.partition(), metadata.offset())))
+                .exceptionally(ex -> {
+                    if (QueuedInOutboxException.isQueued(ex)) {
+                        // Safe in the outbox, not yet in Kafka.
+                        return ResponseEntity.status(HttpStatus.ACCEPTED).body(PublishResult.queued(event.getOrderId()));
+                    }
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(PublishResult.failed(event.getOrderId(), cause.getMessage()));
+                });
+    }
+
+    // Transactional mode (POST /orders?tx=true): the order joins the current time window,
+    // which is committed as one Kafka transaction together with its neighbours.
+    @PostMapping(params = "tx=true")
+    public CompletableFuture<ResponseEntity<PublishResult>> createOrderTransactional(@RequestBody OrderEvent event) {
+        return transactions.publishInWindow(event)
+                .thenApply(result -> result.getError() == null
+                        ? ResponseEntity.ok(result)
+                        : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result));
+    }
+
+    // Atomic batch (POST /orders/batch?atomic=true): all orders commit in one transaction, or none do.
+    @PostMapping(path = "/batch", params = "atomic=true", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionResult> createOrdersAtomically(@RequestBody List<OrderEvent> events) {
+        checkBatchSize(events.size());
+        TransactionResult result = transactions.publishAtomically(events);
+        return result.isCommitted()
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+    }
+
+    // Batch ingest as a JSON array: [{"orderId":...}, {"orderId":...}]
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PublishResult>> createOrders(@RequestBody List<OrderEvent> events,
+                                                            @RequestHeader(name = DurabilityPolicy.HEADER, required = false) String durability) {
+        checkBatchSize(events.size());
+        return ResponseEntity.ok(publisher.publishAll(events, durability));
+    }
+
+    // Batch ingest as NDJSON: one order object per line.
+    @PostMapping(path = "/batch", consumes = APPLICATION_NDJSON)
+    public ResponseEntity<List<PublishResult>> createOrdersNdjson(@RequestBody String body,
+                                                                  @RequestHeader(name = DurabilityPolicy.HEADER, required = false) String durability) {
+        List<OrderEvent> events = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            checkBatchSize(events.size() + 1);
+            try {
+                events.add(mapper.readValue(line, OrderEvent.class));
+            } catch (JsonProcessingException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Invalid order #" + (events.size() + 1), e);
+            }
+        }
+        return ResponseEntity.ok(publisher.publishAll(events, durability));
+    }
+
+    // Streaming ingest for bulk replays: the NDJSON body is read line by line
+    // while it is still uploading, with a bounded number of unacknowledged sends.
+    @PostMapping(path = "/stream", consumes = APPLICATION_NDJSON)
+    public ResponseEntity<StreamIngestResult> streamOrders(InputStream body) throws IOException {
+        return ResponseEntity.ok(streamIngestor.ingest(body));
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Batch exceeds " + maxBatchSize + " orders");
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.orders;
+
+// =======================
+// ✅ Imports
+// =======================
+import com.example.model.JsonOrderCodec;          // Shared JSON wire format (order-model).
+import com.example.model.OrderCodecs;             // Codec registry + the publish codec.
+import com.example.model.OrderDecoder;
+import com.example.model.OrderJsonModule;         // OrderEvent's JSON shape ("price" ↔ ticks).
+import com.example.model.PartitionActivityLog;    // Per-partition summaries + sampled payload logging.
+import com.example.model.Prices;                  // Fixed-point price scale.
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// =======================
+// 🧩 Beans from the shared order-model module
+// =======================
+// order-model is a plain library shared with analytics-service; this is where
+// order-service configures the parts it uses. BinaryOrderCodec stays a @Component here,
+// since only order-service assigns symbol ids.
+@Configuration
+public class OrderModelConfig {
+
+    @Bean
+    public Prices prices(@Value("${app.price.decimals:4}") int decimals) {
+        return new Prices(decimals);
+    }
+
+    // Picked up by Spring Boot's ObjectMapper: request binding (MVC and WebFlux) and the
+    // stream ingestor read "price" at the configured scale.
+    @Bean
+    public OrderJsonModule orderJsonModule(Prices prices) {
+        return new OrderJsonModule(prices);
+    }
+
+    @Bean
+    public JsonOrderCodec jsonOrderCodec(Prices prices) {
+        return new JsonOrderCodec(prices);
+    }
+
+    // Every OrderDecoder / OrderCodec bean; we publish with `app.orders.codec`.
+    @Bean
+    public OrderCodecs orderCodecs(List<OrderDecoder> decoders,
+                                   @Value("${app.orders.codec:json}") String publishCodec) {
+        return new OrderCodecs(decoders, publishCodec);
+    }
+
+    @Bean
+    public PartitionActivityLog partitionActivityLog(@Value("${app.logging.payload-sample-every:1000}") int sampleEvery,
+                                                     @Value("${app.logging.full-capture:false}") boolean fullCapture) {
+        return new PartitionActivityLog("Published", sampleEvery, fullCapture);
+    }
+}
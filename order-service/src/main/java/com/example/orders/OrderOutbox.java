@@ -0,0 +1,467 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.OrderCodecs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;   // Timeouts, broker unavailable, not enough replicas...
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// ================================
+// 📮 Component: OrderOutbox
+// ================================
+// Local write-ahead outbox, so a broker outage doesn't lose orders.
+//
+// When a send fails with a retriable error (timeout, broker unreachable...), the record is
+// appended to a memory-mapped segment file instead of being dropped. While anything is
+// waiting in the outbox, new orders go straight to it as well: they neither block on a dead
+// broker nor overtake older orders. A relay thread drains the outbox to the orders topic in
+// large batches, and once everything is relayed, publishing goes direct again.
+//
+// On disk (`app.outbox.dir`):
+//   outbox-<seq>.seg  fixed-size, zero-filled, append-only segments. Entry:
+//                     int length | int crc32c(payload) | payload
+//                     payload = int partition (-1 = none) | short keyLen (-1 = null) | key
+//                               | byte codecLen | codec | value
+//                     A length of 0 marks the end of the written part.
+//   cursor            8 bytes: (segment seq << 32) | position of the first unrelayed entry.
+//
+// A segment is deleted once the relay has moved past it. Writes land in the page cache
+// (they survive a crash of the JVM); the relay forces them to disk every `force-interval-ms`.
+// Delivery is at-least-once: a batch that was partly acked before a failure is re-sent.
+@Component
+public class OrderOutbox implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutbox.class);
+
+    private static final int ENTRY_HEADER = 8;  // length + crc
+    private static final int NO_PARTITION = -1;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final int relayBatch;
+    private final long forceIntervalMs;
+    private final long retryBackoffMs;
+    private final String ordersTopic;
+    private final ProducerPool producers;
+
+    // 📂 Segments, oldest first; the last one is the one being written.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private MappedByteBuffer cursor;
+    private int cursorSeq;
+    private int cursorPos;
+    private boolean dirty;
+
+    // True while anything is waiting to be relayed (read lock-free on the publish path).
+    private volatile boolean backlogged;
+    private volatile boolean running = true;
+    private Thread relay;
+
+    private final Counter queued;
+    private final Counter relayed;
+    private final Counter dropped;
+
+    public OrderOutbox(ProducerPool producers,
+                       MeterRegistry registry,
+                       @Value("${app.topic.orders}") String ordersTopic,
+                       @Value("${app.outbox.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.dir:data/outbox}") String dir,
+                       @Value("${app.outbox.segment-bytes:67108864}") int segmentBytes,
+                       @Value("${app.outbox.max-segments:16}") int maxSegments,
+                       @Value("${app.outbox.relay-batch:5000}") int relayBatch,
+                       @Value("${app.outbox.force-interval-ms:100}") long forceIntervalMs,
+                       @Value("${app.outbox.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.producers = producers;
+        this.ordersTopic = ordersTopic;
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.relayBatch = relayBatch;
+        this.forceIntervalMs = forceIntervalMs;
+        this.retryBackoffMs = retryBackoffMs;
+
+        this.queued = Counter.builder("orders.outbox.queued").description("Orders written to the outbox").register(registry);
+        this.relayed = Counter.builder("orders.outbox.relayed").description("Outbox orders acked by Kafka").register(registry);
+        this.dropped = Counter.builder("orders.outbox.dropped").description("Outbox orders rejected for good by Kafka").register(registry);
+        Gauge.builder("orders.outbox.segments", segments, Deque::size).description("Outbox segment files").register(registry);
+
+        if (enabled) {
+            recover();
+            relay = new Thread(this::runRelay, "outbox-relay");
+            relay.setDaemon(true);
+            relay.start();
+        }
+    }
+
+    // Publish path: should this order skip the producer and queue behind the backlog?
+    public boolean isBacklogged() {
+        return backlogged;
+    }
+
+    // Called with a failed send. Retriable failures are written to the outbox and reported as
+    // QueuedInOutboxException; anything else (or a disabled outbox) is passed through unchanged.
+    public CompletableFuture<SendResult<String, byte[]>> queue(ProducerRecord<String, byte[]> record, Throwable failure) {
+        if (!enabled || (failure != null && !isRetriable(failure))) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        try {
+            append(record);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.failedFuture(new QueuedInOutboxException(record.key(), failure));
+    }
+
+    // ===============================================
+    // ✍️ Append
+    // ===============================================
+    private synchronized void append(ProducerRecord<String, byte[]> record) {
+        byte[] key = record.key() == null ? null : record.key().getBytes(StandardCharsets.UTF_8);
+        Header header = record.headers().lastHeader(OrderCodecs.HEADER);
+        byte[] codec = header == null ? new byte[0] : header.value();
+        byte[] value = record.value();
+
+        int payload = 4 + 2 + (key == null ? 0 : key.length) + 1 + codec.length + value.length;
+        int size = ENTRY_HEADER + payload;
+        if (size > segmentBytes - ENTRY_HEADER) {
+            throw new IllegalArgumentException("Order of " + value.length + " bytes does not fit an outbox segment");
+        }
+
+        Segment active = segments.peekLast();
+        if (active == null || active.writePos + size > segmentBytes - ENTRY_HEADER) {
+            if (segments.size() >= maxSegments) {
+                // Disk budget used up: refuse new orders rather than lose them.
+                throw new OverloadedException(TimeUnit.MILLISECONDS.toSeconds(retryBackoffMs) + 1);
+            }
+            active = openSegment(active == null ? cursorSeq : active.seq + 1, true);
+            segments.addLast(active);
+        }
+
+        MappedByteBuffer buf = active.buf;
+        int p = active.writePos + ENTRY_HEADER;
+        buf.putInt(p, record.partition() == null ? NO_PARTITION : record.partition());
+        p += 4;
+        buf.putShort(p, (short) (key == null ? -1 : key.length));
+        p += 2;
+        if (key != null) {
+            buf.put(p, key);
+            p += key.length;
+        }
+        buf.put(p, (byte) codec.length);
+        p += 1;
+        buf.put(p, codec);
+        p += codec.length;
+        buf.put(p, value);
+
+        // Length last: a torn write leaves length 0 (end) or fails the crc on recovery.
+        buf.putInt(active.writePos + 4, crc(buf, active.writePos + ENTRY_HEADER, payload));
+        buf.putInt(active.writePos, payload);
+        active.writePos += size;
+
+        dirty = true;
+        backlogged = true;
+        queued.increment();
+    }
+
+    // ===============================================
+    // 🚚 Relay
+    // ===============================================
+    private void runRelay() {
+        long lastForce = System.nanoTime();
+        while (running) {
+            try {
+                if (System.nanoTime() - lastForce >= TimeUnit.MILLISECONDS.toNanos(forceIntervalMs)) {
+                    force();
+                    lastForce = System.nanoTime();
+                }
+                List<Entry> batch = readBatch();
+                if (batch.isEmpty()) {
+                    Thread.sleep(Math.min(forceIntervalMs, 50));
+                    continue;
+                }
+                if (!send(batch)) {
+                    Thread.sleep(retryBackoffMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay error", e);
+            }
+        }
+    }
+
+    // Sends the batch, waits for every ack, and advances the cursor past the acked prefix.
+    // Returns false if it stopped at a retriable failure (the rest is retried later).
+    private boolean send(List<Entry> batch) throws InterruptedException {
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            try {
+                futures.add(producers.send(entry.record()));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+                break; // most likely the broker is still away: don't block on every record
+            }
+        }
+
+        Entry done = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+                relayed.increment();
+            } catch (ExecutionException e) {
+                if (isRetriable(e.getCause())) {
+                    log.warn("Outbox relay paused at {} of {}: {}", i, batch.size(), e.getCause().getMessage());
+                    commit(done);
+                    return false;
+                }
+                // Kafka will never take it (e.g. too large): don't block the outbox behind it.
+                log.error("Dropping outbox order {}", batch.get(i).record().key(), e.getCause());
+                dropped.increment();
+            }
+            done = batch.get(i);
+        }
+        commit(done);
+        return futures.size() == batch.size();
+    }
+
+    private synchronized List<Entry> readBatch() {
+        List<Entry> batch = new ArrayList<>();
+        Segment segment = segment(cursorSeq);
+        int pos = cursorPos;
+        while (segment != null && batch.size() < relayBatch) {
+            int length = pos + ENTRY_HEADER <= segmentBytes ? segment.buf.getInt(pos) : 0;
+            if (length == 0) {
+                Segment next = segment(segment.seq + 1);
+                if (next == null) {
+                    break;
+                }
+                if (batch.isEmpty()) {
+                    moveCursor(next.seq, 0); // fully relayed segment: nothing to resend
+                }
+                segment = next;
+                pos = 0;
+                continue;
+            }
+            ProducerRecord<String, byte[]> record = decode(segment.buf, pos + ENTRY_HEADER, length);
+            pos += ENTRY_HEADER + length;
+            batch.add(new Entry(record, segment.seq, pos));
+        }
+        if (batch.isEmpty() && segment == segments.peekLast() && (segment == null || cursorPos == segment.writePos)) {
+            backlogged = false; // caught up: publishing goes direct again
+        }
+        return batch;
+    }
+
+    private synchronized void commit(Entry done) {
+        if (done != null) {
+            moveCursor(done.seq(), done.endPos());
+        }
+    }
+
+    private void moveCursor(int seq, int pos) {
+        cursorSeq = seq;
+        cursorPos = pos;
+        cursor.putLong(0, ((long) seq << 32) | pos);
+        while (!segments.isEmpty() && segments.peekFirst().seq < seq) {
+            segments.pollFirst().delete();
+        }
+    }
+
+    // ===============================================
+    // 🔁 Recovery
+    // ===============================================
+    private void recover() {
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel channel = FileChannel.open(dir.resolve("cursor"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                cursor = channel.map(FileChannel.MapMode.READ_WRITE, 0, 8);
+            }
+            long saved = cursor.getLong(0);
+            cursorSeq = (int) (saved >>> 32);
+            cursorPos = (int) saved;
+
+            List<Path> files;
+            try (Stream<Path> list = Files.list(dir)) {
+                files = list.filter(f -> f.getFileName().toString().matches("outbox-\\d+\\.seg")).sorted().toList();
+            }
+            for (Path file : files) {
+                int seq = Integer.parseInt(file.getFileName().toString().replaceAll("\\D", ""));
+                if (seq < cursorSeq) {
+                    Files.delete(file);
+                    continue;
+                }
+                Segment segment = openSegment(seq, false);
+                segment.writePos = scan(segment);
+                segments.addLast(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open outbox in " + dir, e);
+        }
+        Segment last = segments.peekLast();
+        backlogged = last != null && (segments.size() > 1 || last.writePos > cursorPos);
+        if (backlogged) {
+            log.warn("Outbox holds unrelayed orders from a previous run; relaying them first");
+        }
+    }
+
+    // Position after the last intact entry (stops at the end marker, a torn write or a bad crc).
+    private int scan(Segment segment) {
+        int pos = 0;
+        while (pos + ENTRY_HEADER <= segmentBytes) {
+            int length = segment.buf.getInt(pos);
+            if (length <= 0 || pos + ENTRY_HEADER + length > segmentBytes
+                    || segment.buf.getInt(pos + 4) != crc(segment.buf, pos + ENTRY_HEADER, length)) {
+                break;
+            }
+            pos += ENTRY_HEADER + length;
+        }
+        // Zero whatever follows, so a torn tail can't be mistaken for entries later.
+        for (int p = pos; p < Math.min(pos + ENTRY_HEADER, segmentBytes); p++) {
+            segment.buf.put(p, (byte) 0);
+        }
+        return pos;
+    }
+
+    // ===============================================
+    // 🧰 Helpers
+    // ===============================================
+    private Segment openSegment(int seq, boolean create) {
+        Path path = dir.resolve(String.format("outbox-%010d.seg", seq));
+        try (FileChannel channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            return new Segment(seq, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open outbox segment " + path, e);
+        }
+    }
+
+    private Segment segment(int seq) {
+        for (Segment segment : segments) {
+            if (segment.seq == seq) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private ProducerRecord<String, byte[]> decode(MappedByteBuffer buf, int p, int length) {
+        int end = p + length;
+        int partition = buf.getInt(p);
+        p += 4;
+        short keyLength = buf.getShort(p);
+        p += 2;
+        String key = null;
+        if (keyLength >= 0) {
+            byte[] keyBytes = new byte[keyLength];
+            buf.get(p, keyBytes);
+            key = new String(keyBytes, StandardCharsets.UTF_8);
+            p += keyLength;
+        }
+        byte[] codec = new byte[buf.get(p)];
+        p += 1;
+        buf.get(p, codec);
+        p += codec.length;
+        byte[] value = new byte[end - p];
+        buf.get(p, value);
+
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(ordersTopic,
+                partition == NO_PARTITION ? null : partition, key, value);
+        if (codec.length > 0) {
+            record.headers().add(OrderCodecs.HEADER, codec);
+        }
+        return record;
+    }
+
+    private static int crc(MappedByteBuffer buf, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    static boolean isRetriable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void force() {
+        if (dirty) {
+            for (Segment segment : segments) {
+                segment.buf.force();
+            }
+            cursor.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (relay != null) {
+            running = false;
+            relay.interrupt();
+            relay.join(5000);
+            dirty = true;
+            force();
+        }
+    }
+
+    private record Entry(ProducerRecord<String, byte[]> record, int seq, int endPos) {}
+
+    private static final class Segment {
+        final int seq;
+        final Path path;
+        final MappedByteBuffer buf;
+        int writePos;
+
+        Segment(int seq, Path path, MappedByteBuffer buf) {
+            this.seq = seq;
+            this.path = path;
+            this.buf = buf;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Cannot delete relayed outbox segment {}", path, e);
+            }
+        }
+    }
+}
@@ -3,81 +3,259 @@ package com.example.orders;
 // ================================
 // 📦 Imports
 // ================================
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;   // Used to convert Java objects into JSON strings.
+import com.example.model.JsonOrderCodec;                  // Shared order model (order-model module).
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import com.example.model.PartitionActivityLog;
 import org.apache.kafka.clients.producer.ProducerRecord; // Represents a message that will be sent to Kafka.
 import org.apache.kafka.clients.producer.RecordMetadata; // Metadata returned after message is sent (topic, partition, offset).
+import org.apache.kafka.common.header.Header;           // Record header (we read the `order-codec` one).
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;  // To read topic name from application.yml
-import org.springframework.kafka.core.KafkaTemplate;      // High-level API to send messages to Kafka.
+import org.springframework.beans.factory.annotation.Value;  // To read settings from application.yml
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.support.SendResult;     // Wraps the sent record + broker metadata.
 import org.springframework.stereotype.Component;         // Marks this as a Spring-managed bean (auto-detected).
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 // ================================
 // 🧱 Component: OrderPublisher
 // ================================
 // This class is responsible for PUBLISHING messages (order events) to Kafka.
 // Think of it as the "post office clerk" that takes your letter (event),
-// wraps it nicely (JSON), and sends it to the correct mailbox (topic).
+// wraps it nicely (JSON bytes, via OrderRecordFactory), and sends it to the correct mailbox (topic).
 @Component
 public class OrderPublisher {
 
     // 🔍 Logger to print info & errors — helps track message publishing.
     private static final Logger log = LoggerFactory.getLogger(OrderPublisher.class);
 
-    // ✅ KafkaTemplate is injected — it’s the helper object used to send messages.
-    private final KafkaTemplate<String, String> template;
+    // ✅ The producer pool hands out the KafkaTemplate for a record's key (one per shard).
+    // Values are pre-encoded bytes (see OrderRecordFactory).
+    private final ProducerPool producers;
+
+    // 🧵 Where send callbacks run.
+    // Default: inline on the producer's I/O thread.
+    // With `spring.threads.virtual.enabled=true` (Java 21 runtime): on virtual threads, so callback
+    // work never delays the network thread. Boot already moves Tomcat onto virtual threads in that mode.
+    private final Executor callbackExecutor;
+
+    // 🔎 Streaming check for passthrough payloads.
+    private final RawOrderValidator rawValidator;
+
+    // 🗜️ Sees every value so the compression codec can follow the traffic mix.
+    private final AdaptiveCompression compression;
+
+    // 🏷️ Turns an OrderEvent into the exact ProducerRecord we put on the wire.
+    private final OrderRecordFactory recordFactory;
+
+    // ⏱️ send() call time and send → ack latency per partition.
+    private final PublishLatencyRecorder latency;
 
-    // 🧩 ObjectMapper converts our OrderEvent Java object → JSON text.
-    private final ObjectMapper mapper = new ObjectMapper();
+    // 🚦 Refuses new orders while the producers are too full (instead of blocking in send()).
+    private final AdmissionControl admission;
 
-    // 🧭 The Kafka topic name, loaded dynamically from application.yml
-    @Value("${app.topic.orders}")
-    private String ordersTopic;
+    // 🪵 Per-partition publish summaries + sampled payload logging.
+    private final PartitionActivityLog activity;
 
-    // 🧱 Constructor-based dependency injection — Spring injects the KafkaTemplate bean we defined in KafkaProducerConfig.
-    public OrderPublisher(KafkaTemplate<String, String> template) {
-        this.template = template;
+    // 🛡️ Durability tier per order (fast lane vs durable producers).
+    private final DurabilityPolicy durabilityPolicy;
+
+    // 📮 Keeps orders the broker couldn't take (and everything behind them) until it's back.
+    private final OrderOutbox outbox;
+
+    // 🧱 Constructor-based dependency injection — Spring injects the ProducerPool bean we defined in KafkaProducerConfig.
+    public OrderPublisher(ProducerPool producers,
+                          RawOrderValidator rawValidator,
+                          OrderRecordFactory recordFactory,
+                          AdaptiveCompression compression,
+                          PublishLatencyRecorder latency,
+                          AdmissionControl admission,
+                          OrderOutbox outbox,
+                          DurabilityPolicy durabilityPolicy,
+                          PartitionActivityLog activity,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.producers = producers;
+        this.rawValidator = rawValidator;
+        this.recordFactory = recordFactory;
+        this.compression = compression;
+        this.latency = latency;
+        this.admission = admission;
+        this.outbox = outbox;
+        this.durabilityPolicy = durabilityPolicy;
+        this.activity = activity;
+        this.callbackExecutor = virtualThreads ? virtualThreadExecutor() : Runnable::run;
+    }
+
+    private static Executor virtualThreadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("publish-cb-");
+        executor.setVirtualThreads(true);
+        return executor;
     }
 
     // ===============================================
     // 🚀 Core Logic: Publish an OrderEvent to Kafka
     // ===============================================
-    public void publish(OrderEvent event) {
+    // Returns the send future so callers that care about the broker ack
+    // (e.g. the batch endpoint) can wait on it; fire-and-forget callers just ignore it.
+    // Throws OverloadedException (→ 429) when the producers are too full.
+    public CompletableFuture<SendResult<String, byte[]>> publish(OrderEvent event) {
+        return publish(event, null);
+    }
+
+    // `durability` is the request's X-Durability header (or null); see DurabilityPolicy.
+    public CompletableFuture<SendResult<String, byte[]>> publish(OrderEvent event, String durability) {
+        admission.admit();
+        Durability tier = durabilityPolicy.resolve(durability, event);
+
+        // 1️⃣ Build the Kafka message (topic, key = orderId, JSON value) — see OrderRecordFactory.
+        ProducerRecord<String, byte[]> record = recordFactory.toRecord(event);
+        String key = record.key();
+        compression.observe(record.value());
+
+        // 2️⃣ Send the record using KafkaTemplate
+        // This is asynchronous — we get a CompletableFuture-like callback.
+        // The callback (and anything chained on the returned future) runs on callbackExecutor.
+        return sendOrQueue(tier, record)
+                .whenCompleteAsync((result, ex) -> logOutcome(key, record, result, ex), callbackExecutor);
+    }
+
+    // When a send completes we either get metadata or an exception.
+    // Success is only counted (per-partition summary, see PartitionActivityLog) and logged
+    // in full for sampled records; failures are rare and always logged.
+    private void logOutcome(String key, ProducerRecord<String, byte[]> record,
+                            SendResult<String, byte[]> result, Throwable ex) {
+        if (QueuedInOutboxException.isQueued(ex)) {
+            // 📮 Broker unavailable: the outbox relays it later (counted in orders.outbox.queued).
+            log.debug("Queued order {} in the outbox", key);
+        } else if (ex != null) {
+            // ❌ If something failed for good (e.g. record too large, invalid topic)
+            log.error("Failed to publish order {}", key, ex);
+        } else {
+            // ✅ Success: count it; log topic, partition and offset for sampled records.
+            RecordMetadata metadata = result.getRecordMetadata();
+            activity.record(metadata.partition(), metadata.offset(), record.value().length);
+            if (activity.logPayload(log)) {
+                log.info("Published order key={} topic={} partition={} offset={} payload={}",
+                        key, metadata.topic(), metadata.partition(), metadata.offset(), payloadForLog(record));
+            }
+        }
+    }
+
+    // JSON values are logged as text; binary ones only by size.
+    private static String payloadForLog(ProducerRecord<String, byte[]> record) {
+        Header codec = record.headers().lastHeader(OrderCodecs.HEADER);
+        if (codec == null || JsonOrderCodec.NAME.equals(new String(codec.value(), StandardCharsets.UTF_8))) {
+            return new String(record.value(), StandardCharsets.UTF_8);
+        }
+        return "<" + record.value().length + " bytes " + new String(codec.value(), StandardCharsets.UTF_8) + ">";
+    }
+
+    // Straight to the outbox while it holds a backlog (keeps order, never blocks on a dead
+    // broker); otherwise send, and fall back to the outbox if the send fails retriably.
+    private CompletableFuture<SendResult<String, byte[]>> sendOrQueue(Durability tier, ProducerRecord<String, byte[]> record) {
+        if (outbox.isBacklogged()) {
+            return outbox.queue(record, null);
+        }
+        CompletableFuture<SendResult<String, byte[]>> future;
+        try {
+            future = send(tier, record);
+        } catch (RuntimeException e) {
+            return outbox.queue(record, e);
+        }
+        return future.exceptionallyCompose(ex -> outbox.queue(record, ex));
+    }
+
+    // Hands the record to the key's producer, counts it as in flight until the ack, and times
+    // it: the send() call itself, and (on the producer's I/O thread, before any callback hop)
+    // the wait for the broker ack.
+    private CompletableFuture<SendResult<String, byte[]>> send(Durability tier, ProducerRecord<String, byte[]> record) {
+        int bytes = record.value().length;
+        admission.sent(1, bytes);
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, byte[]>> future;
         try {
-            // 1️⃣ Convert our OrderEvent (Java object) → JSON string.
-            // Example:
-            // OrderEvent{id="o-1001", symbol="AAPL"} → {"orderId":"o-1001","symbol":"AAPL"}
-            String json = mapper.writeValueAsString(event);
-
-            // 2️⃣ Use orderId as the message key — ensures all messages for the same order go to the same Kafka partition.
-            String key = event.getOrderId();
-
-            // 3️⃣ Create a Kafka message (ProducerRecord)
-            // A ProducerRecord contains:
-            //   - Topic: where to send it (orders.v1)
-            //   - Key: message key (used for partitioning)
-            //   - Value: actual message payload (our JSON string)
-            ProducerRecord<String, String> record = new ProducerRecord<>(ordersTopic, key, json);
-
-            // 4️⃣ Send the record using KafkaTemplate
-            // This is asynchronous — we get a CompletableFuture-like callback.
-            template.send(record).whenComplete((result, ex) -> {
-                // When send completes, we either get metadata or an exception.
-                if (ex != null) {
-                    // ❌ If something failed (e.g. broker down, timeout)
-                    log.error("Failed to publish order {}", event.getOrderId(), ex);
-                } else {
-                    // ✅ If success, log topic, partition, and offset.
-                    RecordMetadata metadata = result.getRecordMetadata();
-                    log.info("Published order key={} topic={} partition={} offset={}",
-                            key, metadata.topic(), metadata.partition(), metadata.offset());
-                }
-            });
-
-        } catch (JsonProcessingException e) {
-            // 🎯 If the event couldn’t be serialized to JSON
-            throw new RuntimeException("Error serializing order event", e);
+            future = producers.send(tier, record);
+        } catch (RuntimeException e) {
+            admission.completed(1, bytes);
+            throw e;
+        }
+        latency.sendCall(tier, System.nanoTime() - start);
+        return future.whenComplete((result, ex) -> {
+            admission.completed(1, bytes);
+            latency.acknowledged(tier, record, result, ex, start);
+        });
+    }
+
+    // ===============================================
+    // 📨 Passthrough Logic: publish the client's JSON bytes as-is
+    // ===============================================
+    // Skips the bind (JSON → OrderEvent) and re-serialize (OrderEvent → JSON) round trip.
+    // The bytes are validated with a streaming parser, keyed by orderId, and sent verbatim.
+    // Throws IllegalArgumentException if the payload is not a valid order.
+    // The payload isn't bound, so only the X-Durability header can pick the fast lane.
+    public CompletableFuture<SendResult<String, byte[]>> publishRaw(byte[] json, String durability) {
+        admission.admit();
+        Durability tier = durabilityPolicy.resolve(durability, null);
+        RawOrderValidator.Fields fields = rawValidator.validate(json);
+        String key = fields.orderId();
+        ProducerRecord<String, byte[]> record = recordFactory.toRawRecord(key, fields.symbol(), json);
+        compression.observe(json);
+
+        return sendOrQueue(tier, record)
+                .whenCompleteAsync((result, ex) -> logOutcome(key, record, result, ex), callbackExecutor);
+    }
+
+    // ===============================================
+    // 🧾 Acknowledged Logic: publish and hand back the broker's receipt
+    // ===============================================
+    // Same send as publish(), but the caller gets the partition/offset
+    // (or the failure) once the broker has acknowledged the record.
+    // Nothing blocks here — the future completes on the producer's I/O thread.
+    public CompletableFuture<RecordMetadata> publishAcknowledged(OrderEvent event, String durability) {
+        return publish(event, durability).thenApply(SendResult::getRecordMetadata);
+    }
+
+    // ===============================================
+    // 📚 Batch Logic: Publish many OrderEvents in one go
+    // ===============================================
+    // All records are handed to the producer first (no waiting between sends),
+    // so they pile up in the same producer batches. Only then do we wait for the acks.
+    // Analogy: drop the whole stack of letters in the mailbox, then read the receipts.
+    public List<PublishResult> publishAll(List<OrderEvent> events, String durability) {
+        // 0️⃣ Refuse the whole batch up front if we're already shedding.
+        admission.admit();
+
+        // 1️⃣ Pipeline: fire every send without blocking on the previous one.
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            try {
+                futures.add(publish(event, durability));
+            } catch (RuntimeException e) {
+                // Serialization, shedding mid-batch or a synchronous producer error only fails this one order.
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        // 2️⃣ Collect: one result per order, in request order.
+        List<PublishResult> results = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            String orderId = events.get(i).getOrderId();
+            try {
+                RecordMetadata metadata = futures.get(i).join().getRecordMetadata();
+                results.add(PublishResult.ok(orderId, metadata.partition(), metadata.offset()));
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.add(QueuedInOutboxException.isQueued(cause)
+                        ? PublishResult.queued(orderId)
+                        : PublishResult.failed(orderId, cause.getMessage()));
+            }
         }
+        return results;
     }
 }
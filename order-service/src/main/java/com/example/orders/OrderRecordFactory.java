@@ -0,0 +1,74 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+// ================================
+// 🏷️ Component: OrderRecordFactory
+// ================================
+// The single place that decides what an order looks like on the wire:
+// topic, key, payload and codec header. Both the servlet path (OrderPublisher) and the
+// reactive path (ReactiveOrderController) go through here, so consumers
+// see identical records no matter which ingestion path produced them.
+@Component
+public class OrderRecordFactory {
+
+    // 🔌 Wire format: the codec chosen by `app.orders.codec` (json by default).
+    private final OrderCodecs codecs;
+
+    // Header value for passthrough records, which are always JSON.
+    private static final byte[] JSON_HEADER_VALUE = JsonOrderCodec.NAME.getBytes(StandardCharsets.UTF_8);
+
+    // 🧭 The Kafka topic name, loaded dynamically from application.yml
+    private final String ordersTopic;
+
+    // 🧭 Partition choice (null = Kafka hashes the orderId key).
+    private final SymbolPartitioner partitioner;
+
+    public OrderRecordFactory(@Value("${app.topic.orders}") String ordersTopic, OrderCodecs codecs,
+                              SymbolPartitioner partitioner) {
+        this.ordersTopic = ordersTopic;
+        this.codecs = codecs;
+        this.partitioner = partitioner;
+    }
+
+    public ProducerRecord<String, byte[]> toRecord(OrderEvent event) {
+        // 1️⃣ Convert our OrderEvent (Java object) → bytes with the publish codec.
+        // Example (json):
+        // OrderEvent{id="o-1001", symbol="AAPL"} → {"orderId":"o-1001","symbol":"AAPL"}
+        byte[] value = codecs.publishCodec().encode(event);
+
+        // 2️⃣ Use orderId as the message key — ensures all messages for the same order go to the same Kafka partition.
+        String key = event.getOrderId();
+
+        // 3️⃣ Create a Kafka message (ProducerRecord)
+        // A ProducerRecord contains:
+        //   - Topic: where to send it (orders.v1)
+        //   - Partition: by symbol if `app.partitioning.strategy=symbol`, else null (hash of key)
+        //   - Key: message key (used for partitioning by default)
+        //   - Value: actual message payload (encoded bytes, sent as-is by ByteArraySerializer)
+        //   - Header `order-codec`: tells the consumer how to decode the value
+        Integer partition = partitioner.partitionFor(event.getSymbol(), key);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(ordersTopic, partition, key, value);
+        record.headers().add(OrderCodecs.HEADER, codecs.publishHeaderValue());
+        return record;
+    }
+
+    // Passthrough variant: the JSON bytes were already validated (RawOrderValidator)
+    // and go out exactly as the client sent them.
+    public ProducerRecord<String, byte[]> toRawRecord(String orderId, String symbol, byte[] json) {
+        Integer partition = partitioner.partitionFor(symbol, orderId);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(ordersTopic, partition, orderId, json);
+        record.headers().add(OrderCodecs.HEADER, JSON_HEADER_VALUE);
+        return record;
+    }
+}
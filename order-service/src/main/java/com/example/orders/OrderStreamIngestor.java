@@ -0,0 +1,148 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ================================
+// 🌊 Component: OrderStreamIngestor
+// ================================
+// Streams an NDJSON body (one order per line) straight into Kafka without
+// buffering the whole upload. A semaphore caps the number of sends that are
+// still waiting for a broker ack; once the cap is hit we simply stop reading
+// the request body, and TCP flow control pushes back on the client.
+//
+// Analogy: a conveyor belt with a fixed number of trays —
+// a new parcel is only picked up when a tray comes back empty.
+//
+// Admission control sheds load with a 429, which a half-read stream can't return per
+// order. So while the producers are over the high watermark we stop reading too, and
+// send the same order once admission reopens — nothing is dropped.
+@Component
+public class OrderStreamIngestor {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStreamIngestor.class);
+
+    // Only the first few errors are echoed back, to keep memory flat.
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final OrderPublisher publisher;
+    private final AdmissionControl admission;
+    private final ObjectMapper mapper;
+
+    // 🚦 Max unacknowledged sends per upload.
+    private final int maxInFlight;
+
+    // ⏸️ How often to re-check admission while the producers are shedding load.
+    private final long overloadPollMs;
+
+    public OrderStreamIngestor(OrderPublisher publisher,
+                               AdmissionControl admission,
+                               ObjectMapper mapper,
+                               @Value("${app.orders.stream.max-in-flight:1000}") int maxInFlight,
+                               @Value("${app.orders.stream.overload-poll-ms:5}") long overloadPollMs) {
+        this.publisher = publisher;
+        this.admission = admission;
+        this.mapper = mapper;
+        this.maxInFlight = maxInFlight;
+        this.overloadPollMs = overloadPollMs;
+    }
+
+    public StreamIngestResult ingest(InputStream body) throws IOException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong published = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        long received = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long lineNo = ++received;
+
+                OrderEvent event;
+                try {
+                    event = mapper.readValue(line, OrderEvent.class);
+                } catch (IOException e) {
+                    recordFailure(failed, errors, "line " + lineNo + ": invalid order");
+                    continue;
+                }
+
+                // 1️⃣ Wait for a free slot — this is where backpressure happens.
+                inFlight.acquire();
+
+                // 2️⃣ Send; the slot is handed back when the broker answers.
+                try {
+                    publishWhenAdmitted(event).whenComplete((result, ex) -> {
+                        if (ex != null && !QueuedInOutboxException.isQueued(ex)) {
+                            recordFailure(failed, errors, "order " + event.getOrderId() + ": " + ex.getMessage());
+                        } else {
+                            published.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    recordFailure(failed, errors, "order " + event.getOrderId() + ": " + e.getMessage());
+                }
+            }
+
+            // 3️⃣ Drain: wait until every outstanding send has been acknowledged.
+            inFlight.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming orders", e);
+        }
+
+        log.info("Streamed ingest finished received={} published={} failed={}", received, published.get(), failed.get());
+        synchronized (errors) {
+            return new StreamIngestResult(received, published.get(), failed.get(), new ArrayList<>(errors));
+        }
+    }
+
+    // Waits out load shedding instead of failing the order. Another caller can push the
+    // producers back over the watermark between the wait and the send; then we wait again.
+    private CompletableFuture<SendResult<String, byte[]>> publishWhenAdmitted(OrderEvent event)
+            throws InterruptedException {
+        while (true) {
+            admission.awaitAdmission(overloadPollMs);
+            try {
+                return publisher.publish(event);
+            } catch (OverloadedException e) {
+                // Lost the race — back to waiting.
+            }
+        }
+    }
+
+    private static void recordFailure(AtomicLong failed, List<String> errors, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.orders;
+
+// Thrown when AdmissionControl sheds an order; answered with 429 + Retry-After.
+public class OverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public OverloadedException(long retryAfterSeconds) {
+        super("Publisher overloaded, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orders;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// 🚦 Shed orders get 429 with a Retry-After hint instead of a stalled connection.
+@RestControllerAdvice
+public class OverloadedExceptionHandler {
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<String> overloaded(OverloadedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// ================================
+// 🎱 ProducerPool
+// ================================
+// N independent KafkaProducers instead of one shared by every request thread.
+//
+// One producer means one record accumulator and one metadata lock; with dozens of
+// cores appending at once, threads queue on those locks instead of sending.
+// Here each shard has its own producer factory (→ its own producer, accumulator,
+// I/O thread and broker connections).
+//
+// A record's shard is chosen from its key, so every record of a key goes through
+// the same producer and per-key ordering holds exactly as with a single producer.
+// Records without a key fall back to the calling thread.
+//
+// Shard 0 starts out as the application's KafkaTemplate bean; `app.producer.pool-size=1`
+// (default) is the plain single-producer setup. Everything in order-service that produces
+// with the bean's settings (orders, the outbox, symbol mappings, partition counts) goes
+// through the pool, so live reconfiguration reaches all of it. The bean itself keeps its
+// startup settings: once reconfigure has swapped it out, its producer is closed.
+//
+// Durability tiers: the shards above form the DURABLE tier. Given fast-lane overrides
+// (acks=1 etc.), a second set of shards with those settings forms the FAST tier.
+// Without them, FAST orders use the DURABLE producers.
+//
+// Live reconfiguration (reconfigure): a producer's settings can't change once it is built,
+// and resetting its factory closes it under the requests still sending through it. So each
+// shard is swapped instead: build a producer with the new settings, put it in the shard's
+// slot (new sends use it from then on), then flush the old one, so everything it had
+// accepted is sent and acked, and close it.
+//
+// Sends go through send(), never through a template handed out earlier: picking the shard's
+// producer and calling send() on it happen under the shard's read lock, and the swap takes
+// the write lock. So once a producer is out of its slot, nobody is still about to send
+// through it, and the flush really covers everything it will ever get.
+public class ProducerPool implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProducerPool.class);
+
+    private final KafkaTemplate<String, byte[]> primary;
+    private final Map<Durability, AtomicReferenceArray<KafkaTemplate<String, byte[]>>> tiers = new EnumMap<>(Durability.class);
+    // One per shard and tier: send() holds the read lock, the swap in reconfigure the write lock.
+    private final Map<Durability, ReadWriteLock[]> locks = new EnumMap<>(Durability.class);
+    private final Function<Map<String, Object>, DefaultKafkaProducerFactory<String, byte[]>> factories;
+    // Bumped by every reconfigure; lets metric readers notice their producers were replaced.
+    private volatile long generation;
+
+    public ProducerPool(KafkaTemplate<String, byte[]> primary, int size) {
+        this(primary, size, null);
+    }
+
+    public ProducerPool(KafkaTemplate<String, byte[]> primary, int size, Map<String, Object> fastOverrides) {
+        this(primary, size, fastOverrides, DefaultKafkaProducerFactory::new);
+    }
+
+    // `factories` builds the factory for every producer the pool creates (tests plug in mock producers).
+    ProducerPool(KafkaTemplate<String, byte[]> primary, int size, Map<String, Object> fastOverrides,
+                 Function<Map<String, Object>, DefaultKafkaProducerFactory<String, byte[]>> factories) {
+        if (size < 1) {
+            throw new IllegalArgumentException("app.producer.pool-size must be at least 1");
+        }
+        this.primary = primary;
+        this.factories = factories;
+        Map<String, Object> configs = primary.getProducerFactory().getConfigurationProperties();
+
+        AtomicReferenceArray<KafkaTemplate<String, byte[]>> durable = new AtomicReferenceArray<>(size);
+        durable.set(0, primary);
+        for (int i = 1; i < size; i++) {
+            // Same settings as the primary; the client.id is generated per producer by Kafka.
+            durable.set(i, newTemplate(configs));
+        }
+        tiers.put(Durability.DURABLE, durable);
+        locks.put(Durability.DURABLE, newLocks(size));
+
+        if (fastOverrides != null) {
+            Map<String, Object> fastConfigs = new HashMap<>(configs);
+            fastConfigs.putAll(fastOverrides);
+            AtomicReferenceArray<KafkaTemplate<String, byte[]>> fast = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < size; i++) {
+                fast.set(i, newTemplate(fastConfigs));
+            }
+            tiers.put(Durability.FAST, fast);
+            locks.put(Durability.FAST, newLocks(size));
+        }
+    }
+
+    private KafkaTemplate<String, byte[]> newTemplate(Map<String, Object> configs) {
+        return new KafkaTemplate<>(factories.apply(configs));
+    }
+
+    private static ReadWriteLock[] newLocks(int size) {
+        ReadWriteLock[] locks = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        return locks;
+    }
+
+    // ===============================================
+    // 📤 Send through the record key's shard
+    // ===============================================
+    public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+        return send(Durability.DURABLE, record);
+    }
+
+    public CompletableFuture<SendResult<String, byte[]>> send(Durability durability, ProducerRecord<String, byte[]> record) {
+        Durability tier = tiers.containsKey(durability) ? durability : Durability.DURABLE;
+        AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards = tiers.get(tier);
+        int shard = shardOf(record.key(), shards.length());
+        // Held for the send() call only (the record is in the producer's buffer once it
+        // returns), not until the ack.
+        ReadWriteLock lock = locks.get(tier)[shard];
+        lock.readLock().lock();
+        try {
+            return shards.get(shard).send(record);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Topic metadata from the first durable producer (any producer would do).
+    public List<PartitionInfo> partitionsFor(String topic) {
+        ReadWriteLock lock = locks.get(Durability.DURABLE)[0];
+        lock.readLock().lock();
+        try {
+            return tiers.get(Durability.DURABLE).get(0).partitionsFor(topic);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int shardOf(String key, int size) {
+        if (size == 1) {
+            return 0;
+        }
+        int hash = key != null ? key.hashCode() : Long.hashCode(Thread.currentThread().getId());
+        return Math.floorMod(hash ^ (hash >>> 16), size);
+    }
+
+    // The tier's producers right now (DURABLE's if the tier isn't configured). For reading
+    // metrics and metadata; a reconfigure may close them at any time, so send with send().
+    public List<KafkaTemplate<String, byte[]>> templates(Durability durability) {
+        AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards = shards(durability);
+        List<KafkaTemplate<String, byte[]>> templates = new ArrayList<>(shards.length());
+        for (int i = 0; i < shards.length(); i++) {
+            templates.add(shards.get(i));
+        }
+        return templates;
+    }
+
+    private AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards(Durability durability) {
+        AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards = tiers.get(durability);
+        return shards != null ? shards : tiers.get(Durability.DURABLE);
+    }
+
+    public boolean hasTier(Durability durability) {
+        return tiers.containsKey(durability);
+    }
+
+    // Every shard's current factory in every tier, to read settings (change them with reconfigure).
+    public List<ProducerFactory<String, byte[]>> factories() {
+        List<ProducerFactory<String, byte[]>> factories = new ArrayList<>();
+        for (Durability durability : tiers.keySet()) {
+            factories.addAll(factories(durability));
+        }
+        return factories;
+    }
+
+    public List<ProducerFactory<String, byte[]>> factories(Durability durability) {
+        List<ProducerFactory<String, byte[]>> factories = new ArrayList<>();
+        for (KafkaTemplate<String, byte[]> template : templates(durability)) {
+            factories.add(template.getProducerFactory());
+        }
+        return factories;
+    }
+
+    // Shards per tier.
+    public int size() {
+        return tiers.get(Durability.DURABLE).length();
+    }
+
+    // ===============================================
+    // 🔁 Live reconfiguration: swap, then drain the old producer
+    // ===============================================
+    // Every producer of every tier gets `overrides` on top of its current settings.
+    public void reconfigure(Map<String, Object> overrides) {
+        for (Durability durability : tiers.keySet()) {
+            reconfigure(durability, overrides);
+        }
+    }
+
+    // Synchronized so that two controllers reconfiguring at once don't lose each other's settings.
+    public synchronized void reconfigure(Durability durability, Map<String, Object> overrides) {
+        AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards = tiers.get(durability);
+        if (shards == null) {
+            return;
+        }
+        for (int i = 0; i < shards.length(); i++) {
+            Map<String, Object> configs = new HashMap<>(shards.get(i).getProducerFactory().getConfigurationProperties());
+            configs.putAll(overrides);
+            KafkaTemplate<String, byte[]> replacement = newTemplate(configs);
+            // Waits for the send() calls already on the old producer; later ones get the new one.
+            ReadWriteLock lock = locks.get(durability)[i];
+            KafkaTemplate<String, byte[]> old;
+            lock.writeLock().lock();
+            try {
+                old = shards.getAndSet(i, replacement);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            retire(old);
+        }
+        generation++;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    // Called after the swap, so every send that went to the old producer has returned from
+    // send() and sits in its buffer, and no new ones can arrive. flush() sends them and waits
+    // for their acks; only then is the producer closed.
+    private void retire(KafkaTemplate<String, byte[]> old) {
+        try {
+            old.flush();
+        } catch (RuntimeException e) {
+            log.warn("Flushing a replaced producer failed: {}", e.toString());
+        }
+        // The primary's factory is a bean (destroyed by Spring); closing its producer is enough.
+        DefaultKafkaProducerFactory<String, byte[]> factory = (DefaultKafkaProducerFactory<String, byte[]>) old.getProducerFactory();
+        if (old == primary) {
+            factory.reset();
+        } else {
+            factory.destroy();
+        }
+    }
+
+    // The primary factory is a bean and closed by Spring; the other shards are ours.
+    @Override
+    public void destroy() {
+        for (AtomicReferenceArray<KafkaTemplate<String, byte[]>> shards : tiers.values()) {
+            for (int i = 0; i < shards.length(); i++) {
+                KafkaTemplate<String, byte[]> template = shards.get(i);
+                if (template != primary) {
+                    ((DefaultKafkaProducerFactory<String, byte[]>) template.getProducerFactory()).destroy();
+                }
+            }
+        }
+    }
+}
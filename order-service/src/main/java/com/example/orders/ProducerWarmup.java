@@ -0,0 +1,171 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.BinaryOrderFormat;
+import com.example.model.JsonOrderCodec;
+import com.example.model.OrderCodec;
+import com.example.model.OrderCodecs;
+import com.example.model.OrderEvent;
+import com.example.model.Prices;
+import com.example.model.Side;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// ================================
+// 🔥 Component: ProducerWarmup
+// ================================
+// DefaultKafkaProducerFactory builds its producer on the first send, so without this the
+// first orders after a deploy pay for producer construction, the metadata fetch, the
+// idempotent producer-id request and a cold JIT.
+//
+// Runs once at startup as an ApplicationRunner. Spring Boot only flips readiness to
+// ACCEPTING_TRAFFIC after every runner returns, so /actuator/health/readiness stays
+// OUT_OF_SERVICE until we are done:
+//   1️⃣ Producers: every producer of every durability tier is created and asked for the
+//      partitions of `app.topic.orders` (a metadata round trip). The sender thread of an
+//      idempotent producer requests its producer id as soon as it starts.
+//   2️⃣ Code paths: `iterations` synthetic orders go through request binding (Jackson),
+//      RawOrderValidator, every codec (encode + decode), ProducerRecord construction and
+//      key serialization. Nothing is sent: the records are dropped. They skip
+//      SymbolPartitioner, so synthetic symbols never count as hot traffic, and the binary
+//      codec runs with pre-resolved symbol ids, so SymbolDictionary is never touched.
+//
+// Warm-up never fails startup: a broker that can't be reached, or a codec that throws, is
+// logged and skipped. The outbox takes orders until the broker is back.
+@Component
+public class ProducerWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProducerWarmup.class);
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "NVDA", "TSLA", "META", "NFLX"};
+
+    private final ProducerPool producers;
+    private final List<OrderCodec> codecs;
+    private final JsonOrderCodec json;
+    private final OrderCodecs registry;
+    private final RawOrderValidator validator;
+    private final ObjectMapper mapper;
+    private final Prices prices;
+    private final String ordersTopic;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    // Enough calls for the JIT to compile the hot methods (C2 kicks in around 10k).
+    @Value("${app.warmup.iterations:20000}")
+    private int iterations;
+
+    public ProducerWarmup(ProducerPool producers, List<OrderCodec> codecs, JsonOrderCodec json, OrderCodecs registry,
+                          RawOrderValidator validator, ObjectMapper mapper, Prices prices,
+                          @Value("${app.topic.orders}") String ordersTopic) {
+        this.producers = producers;
+        this.codecs = codecs;
+        this.json = json;
+        this.registry = registry;
+        this.validator = validator;
+        this.mapper = mapper;
+        this.prices = prices;
+        this.ordersTopic = ordersTopic;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int warmed = warmProducers();
+        long producersDone = System.nanoTime();
+        long checksum = warmCodePaths();
+        long end = System.nanoTime();
+        log.info("Warm-up done in {} ms: {} producers ready in {} ms, {} synthetic orders in {} ms (checksum {})",
+                (end - start) / 1_000_000, warmed, (producersDone - start) / 1_000_000,
+                iterations, (end - producersDone) / 1_000_000, checksum);
+    }
+
+    // 1️⃣ Creates each producer and fetches topic metadata through it.
+    private int warmProducers() {
+        int warmed = 0;
+        for (Durability durability : Durability.values()) {
+            if (!producers.hasTier(durability)) {
+                continue;
+            }
+            for (KafkaTemplate<String, byte[]> template : producers.templates(durability)) {
+                try {
+                    List<PartitionInfo> partitions = template.partitionsFor(ordersTopic);
+                    log.debug("Warm-up: {} producer sees {} partitions of {}", durability, partitions.size(), ordersTopic);
+                    warmed++;
+                } catch (RuntimeException e) {
+                    // Typically a TimeoutException after max.block.ms: the broker isn't up yet.
+                    // The other producers would wait just as long, so stop here.
+                    log.warn("Warm-up: no metadata for {} from a {} producer, skipping the rest: {}",
+                            ordersTopic, durability, e.toString());
+                    return warmed;
+                }
+            }
+        }
+        return warmed;
+    }
+
+    // 2️⃣ Runs the per-order work of the publish paths on synthetic orders, without sending.
+    // A codec that fails is logged and left out of the remaining iterations.
+    private long warmCodePaths() {
+        List<OrderCodec> warming = new ArrayList<>(codecs);
+        StringSerializer keySerializer = new StringSerializer();
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            int symbolId = i % SYMBOLS.length;
+            OrderEvent event = new OrderEvent("warmup-" + i, SYMBOLS[symbolId],
+                    i % 2 == 0 ? Side.BUY : Side.SELL, 1 + i % 100, 1_000_000L + i);
+            try {
+                byte[] body = json.encode(event);
+                OrderEvent bound = mapper.readValue(body, OrderEvent.class);
+                checksum += validator.validate(body).orderId().length() + bound.getQty();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Warm-up: request binding failed after {} orders, skipping the rest: {}", i, e.toString());
+                return checksum;
+            }
+            for (Iterator<OrderCodec> it = warming.iterator(); it.hasNext(); ) {
+                OrderCodec codec = it.next();
+                try {
+                    byte[] value = encodeOffline(codec, event, symbolId);
+                    checksum += decodeOffline(codec, value).getPriceTicks();
+                    ProducerRecord<String, byte[]> record = new ProducerRecord<>(ordersTopic, null, event.getOrderId(), value);
+                    record.headers().add(OrderCodecs.HEADER, registry.publishHeaderValue());
+                    checksum += keySerializer.serialize(ordersTopic, record.key()).length + record.value().length;
+                } catch (RuntimeException e) {
+                    log.warn("Warm-up: codec '{}' failed, not warming it: {}", codec.name(), e.toString());
+                    it.remove();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    // The binary codec resolves symbols through SymbolDictionary, which replays the symbols
+    // topic and publishes new mappings. Warm-up must not write to Kafka (or wait for it), so
+    // the binary layout is run with pre-resolved ids: the index into SYMBOLS.
+    private byte[] encodeOffline(OrderCodec codec, OrderEvent event, int symbolId) {
+        return codec instanceof BinaryOrderCodec ? BinaryOrderFormat.encode(event, symbolId, prices) : codec.encode(event);
+    }
+
+    private OrderEvent decodeOffline(OrderCodec codec, byte[] value) {
+        return codec instanceof BinaryOrderCodec ? BinaryOrderFormat.decode(value, id -> SYMBOLS[id], prices) : codec.decode(value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.orders;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// ⏱️ GET /actuator/publishlatency — ack latency percentiles per partition and outcome.
+@Component
+@Endpoint(id = "publishlatency")
+public class PublishLatencyEndpoint {
+    private final PublishLatencyRecorder latency;
+
+    public PublishLatencyEndpoint(PublishLatencyRecorder latency) {
+        this.latency = latency;
+    }
+
+    @ReadOperation
+    public Map<String, Object> publishLatency() {
+        return latency.snapshot();
+    }
+}
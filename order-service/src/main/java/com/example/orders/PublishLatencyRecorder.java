@@ -0,0 +1,161 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// ================================
+// ⏱️ Component: PublishLatencyRecorder
+// ================================
+// Where does publish time go? Two measurements per record:
+//
+//   send-call  → time inside KafkaTemplate.send() itself. Normally microseconds; it grows
+//                when the producer blocks on metadata or a full accumulator (buffer.memory).
+//   ack        → send() call to broker acknowledgement, tagged by partition and outcome.
+//                A spike on one partition points at its leader broker; on all partitions
+//                with a slow send-call, at the producer side.
+//
+// Both feed Micrometer timers (GET /actuator/metrics/orders.publish.latency?tag=partition:0)
+// with p50/p99/p999, tagged by durability tier (each tier has its own producers). The ack
+// latency is also kept in HdrHistogram Recorders (wait-free on the recording side) and
+// served at GET /actuator/publishlatency — per tier, partition and outcome, either since
+// the previous read (`reset-on-read: true`) or since startup.
+@Component
+public class PublishLatencyRecorder {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final int UNKNOWN_PARTITION = -1;
+
+    private final MeterRegistry registry;
+    private final boolean resetOnRead;
+
+    // Each durability tier (own producers) gets its own series.
+    private final Map<Durability, Tier> tiers = new EnumMap<>(Durability.class);
+
+    public PublishLatencyRecorder(MeterRegistry registry,
+                                  @Value("${app.metrics.publish-latency.reset-on-read:true}") boolean resetOnRead) {
+        this.registry = registry;
+        this.resetOnRead = resetOnRead;
+        for (Durability durability : Durability.values()) {
+            tiers.put(durability, new Tier(durability));
+        }
+    }
+
+    public void sendCall(Durability durability, long nanos) {
+        tiers.get(durability).sendCall.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Called from the send future's completion (on the producer I/O thread): keep it cheap.
+    public void acknowledged(Durability durability, ProducerRecord<String, byte[]> record,
+                             SendResult<String, byte[]> result, Throwable ex, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Tier tier = tiers.get(durability);
+        Series series;
+        if (ex == null) {
+            RecordMetadata metadata = result.getRecordMetadata();
+            series = tier.acked.computeIfAbsent(metadata.partition(), p -> new Series(tier.tag, p, "ok"));
+        } else {
+            int partition = record.partition() != null ? record.partition() : UNKNOWN_PARTITION;
+            series = tier.failed.computeIfAbsent(partition, p -> new Series(tier.tag, p, "error"));
+        }
+        series.record(nanos);
+    }
+
+    // Read model for the actuator endpoint: tier → partition → outcome → summary (in ms).
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("resetOnRead", resetOnRead);
+        for (Tier tier : tiers.values()) {
+            Map<String, Map<String, Object>> partitions = new TreeMap<>();
+            for (Series series : tier.acked.values()) {
+                partitions.computeIfAbsent(series.partitionTag, p -> new LinkedHashMap<>()).put("ok", series.read());
+            }
+            for (Series series : tier.failed.values()) {
+                partitions.computeIfAbsent(series.partitionTag, p -> new LinkedHashMap<>()).put("error", series.read());
+            }
+            if (!partitions.isEmpty()) {
+                snapshot.put(tier.tag, partitions);
+            }
+        }
+        return snapshot;
+    }
+
+    // 🛡️ One durability tier: send() timer plus one series per partition and outcome.
+    private final class Tier {
+        private final String tag;
+        private final Timer sendCall;
+        private final ConcurrentMap<Integer, Series> acked = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, Series> failed = new ConcurrentHashMap<>();
+
+        Tier(Durability durability) {
+            this.tag = durability.name().toLowerCase();
+            this.sendCall = Timer.builder("orders.publish.send-call")
+                    .description("Time spent inside KafkaTemplate.send() (metadata wait, accumulator append)")
+                    .tag("tier", tag)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+    }
+
+    // 📈 Timer + HdrHistogram recorder for one tier/partition/outcome.
+    private final class Series {
+        private final String partitionTag;
+        private final Timer timer;
+        private final Recorder recorder = new Recorder(3);     // 3 significant digits, auto-resizing
+        private final Histogram total = new Histogram(3);      // cumulative view (reset-on-read off)
+        private Histogram interval;
+
+        Series(String tier, int partition, String outcome) {
+            this.partitionTag = partition == UNKNOWN_PARTITION ? "unknown" : Integer.toString(partition);
+            this.timer = Timer.builder("orders.publish.latency")
+                    .description("send() call to broker ack")
+                    .tag("tier", tier)
+                    .tag("partition", partitionTag)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+
+        void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            recorder.recordValue(nanos);
+        }
+
+        synchronized Map<String, Object> read() {
+            interval = recorder.getIntervalHistogram(interval); // swaps buffers; recording never waits
+            Histogram view = interval;
+            if (!resetOnRead) {
+                total.add(interval);
+                view = total;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", view.getTotalCount());
+            summary.put("p50", millis(view.getValueAtPercentile(50)));
+            summary.put("p99", millis(view.getValueAtPercentile(99)));
+            summary.put("p999", millis(view.getValueAtPercentile(99.9)));
+            summary.put("max", millis(view.getMaxValue()));
+            return summary;
+        }
+
+        private double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
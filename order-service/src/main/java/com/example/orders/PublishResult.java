@@ -0,0 +1,49 @@
+
+package com.example.orders;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One entry in a batch response: where the order landed, that it waits in the outbox, or why it failed.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublishResult {
+    private String orderId;
+    private Integer partition;
+    private Long offset;
+    private String error;
+    private Boolean queued;
+
+    public PublishResult() {}
+
+    public PublishResult(String orderId, Integer partition, Long offset, String error) {
+        this.orderId = orderId;
+        this.partition = partition;
+        this.offset = offset;
+        this.error = error;
+    }
+
+    public static PublishResult ok(String orderId, int partition, long offset) {
+        return new PublishResult(orderId, partition, offset, null);
+    }
+
+    public static PublishResult failed(String orderId, String error) {
+        return new PublishResult(orderId, null, null, error);
+    }
+
+    // Not in Kafka yet, but stored in the local outbox and relayed once the broker is back.
+    public static PublishResult queued(String orderId) {
+        PublishResult result = new PublishResult(orderId, null, null, null);
+        result.queued = true;
+        return result;
+    }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+    public Integer getPartition() { return partition; }
+    public void setPartition(Integer partition) { this.partition = partition; }
+    public Long getOffset() { return offset; }
+    public void setOffset(Long offset) { this.offset = offset; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public Boolean getQueued() { return queued; }
+    public void setQueued(Boolean queued) { this.queued = queued; }
+}
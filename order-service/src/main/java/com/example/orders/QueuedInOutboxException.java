@@ -0,0 +1,20 @@
+package com.example.orders;
+
+// The send did not reach Kafka, but the order is safe in the local outbox and will be relayed.
+// Callers waiting for an ack get this instead of a broker receipt (→ 202 Accepted).
+public class QueuedInOutboxException extends RuntimeException {
+
+    public QueuedInOutboxException(String orderId, Throwable cause) {
+        super("Order " + orderId + " queued in the outbox" + (cause == null ? "" : " after: " + cause.getMessage()), cause);
+    }
+
+    // True if this failure (possibly wrapped by CompletableFuture) means "queued, not lost".
+    public static boolean isQueued(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof QueuedInOutboxException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.Prices;
+import com.fasterxml.jackson.core.JsonFactory;   // Creates streaming (token-by-token) JSON parsers.
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// ================================
+// 🔎 Component: RawOrderValidator
+// ================================
+// Checks an order's JSON bytes with Jackson's streaming parser — no OrderEvent,
+// no tree, no re-serialization — and pulls out the orderId (Kafka key) and symbol (partitioning).
+// Used by the passthrough path, which forwards the original bytes untouched.
+//
+// Rules: a single JSON object with exactly the OrderEvent fields, all present:
+//   orderId, symbol → non-empty strings
+//   side            → "BUY" or "SELL"
+//   qty             → integer
+//   price           → number, a whole number of ticks (see Prices)
+// Unknown fields are rejected too, since the bytes go to consumers verbatim.
+@Component
+public class RawOrderValidator {
+
+    // Thread-safe and reusable; creating parsers from it is cheap.
+    private final JsonFactory factory = new JsonFactory();
+    private final Prices prices;
+
+    public RawOrderValidator(Prices prices) {
+        this.prices = prices;
+    }
+
+    // The two fields the publisher needs: orderId (key) and symbol (partitioning).
+    public record Fields(String orderId, String symbol) {}
+
+    // Returns orderId + symbol, or throws IllegalArgumentException describing the first problem.
+    public Fields validate(byte[] json) {
+        try (JsonParser parser = factory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw invalid("expected a JSON object");
+            }
+
+            String orderId = null;
+            String symbol = null;
+            boolean side = false, qty = false, price = false;
+
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "orderId" -> orderId = requireText(parser, value, field);
+                    case "symbol" -> symbol = requireText(parser, value, field);
+                    case "side" -> side = requireSide(parser, value);
+                    case "qty" -> qty = require(value == JsonToken.VALUE_NUMBER_INT, "qty must be an integer");
+                    case "price" -> price = requirePrice(parser, value);
+                    default -> throw invalid("unknown field '" + field + "'");
+                }
+            }
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                throw invalid("trailing content after order object");
+            }
+            if (orderId == null || symbol == null || !side || !qty || !price) {
+                throw invalid("orderId, symbol, side, qty and price are required");
+            }
+            return new Fields(orderId, symbol);
+
+        } catch (IOException e) {
+            // 🎯 Malformed JSON (bad token, truncated body...)
+            throw invalid("malformed JSON: " + e.getMessage());
+        }
+    }
+
+    private static String requireText(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value != JsonToken.VALUE_STRING || parser.getTextLength() == 0) {
+            throw invalid(field + " must be a non-empty string");
+        }
+        return parser.getText();
+    }
+
+    private static boolean requireSide(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            String side = parser.getText();
+            if ("BUY".equals(side) || "SELL".equals(side)) {
+                return true;
+            }
+        }
+        throw invalid("side must be BUY or SELL");
+    }
+
+    private boolean requirePrice(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw invalid("price must be a number");
+        }
+        try {
+            prices.toTicks(parser.getDecimalValue());
+        } catch (IllegalArgumentException e) {
+            throw invalid(e.getMessage());
+        }
+        return true;
+    }
+
+    private static boolean require(boolean condition, String message) {
+        if (!condition) {
+            throw invalid(message);
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Invalid order: " + message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orders;
+
+// =======================
+// ✅ Imports
+// =======================
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.ProducerFactory;
+import reactor.kafka.sender.KafkaSender;                    // Reactive (non-blocking) Kafka producer.
+import reactor.kafka.sender.SenderOptions;
+
+// =======================
+// ⚡ Reactive Producer Configuration (profile: reactive)
+// =======================
+// Builds a reactor-kafka KafkaSender with exactly the same producer settings as
+// KafkaProducerConfig (bootstrap, serializers, acks, idempotence...), so records
+// are indistinguishable from the servlet path.
+//
+// Backpressure: the sender only requests new records from the HTTP body while fewer
+// than `max-in-flight` sends are unacknowledged. A slow broker therefore slows down
+// reading from the client's connection instead of piling records up in memory.
+@Configuration
+@Profile("reactive")
+public class ReactiveKafkaConfig {
+
+    @Value("${app.reactive.max-in-flight:1024}")
+    private int maxInFlight;
+
+    @Bean
+    public KafkaSender<String, byte[]> kafkaSender(ProducerFactory<String, byte[]> producerFactory) {
+        SenderOptions<String, byte[]> options = SenderOptions.<String, byte[]>create(producerFactory.getConfigurationProperties())
+                .maxInFlight(maxInFlight)
+                // Keep going after a failed record; each failure is reported back per order.
+                .stopOnError(false);
+        return KafkaSender.create(options);
+    }
+}
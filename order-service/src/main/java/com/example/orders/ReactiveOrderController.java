@@ -0,0 +1,73 @@
+
+package com.example.orders;
+
+import com.example.model.OrderEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.sender.SenderResult;
+
+// Event-loop (WebFlux + reactor-kafka) variant of OrderController, active with the `reactive` profile.
+// Every response reflects the broker ack; nothing blocks a thread while waiting for it.
+//
+// It sends through its own KafkaSender, not OrderPublisher, so none of the publisher's hooks
+// apply: no AdmissionControl (the sender's max-in-flight backpressure bounds the load
+// instead), no outbox (a failed send is answered with 503), no X-Durability tiers (the
+// header is ignored; the sender uses the configured acks), no orders.publish.* latency
+// timers and no adaptive compression/batching. The raw, tx and atomic endpoints don't exist.
+@RestController
+@RequestMapping("/orders")
+@Profile("reactive")
+public class ReactiveOrderController {
+    private final KafkaSender<String, byte[]> sender;
+    private final OrderRecordFactory recordFactory;
+
+    public ReactiveOrderController(KafkaSender<String, byte[]> sender, OrderRecordFactory recordFactory) {
+        this.sender = sender;
+        this.recordFactory = recordFactory;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PublishResult>> createOrder(@RequestBody Mono<OrderEvent> event) {
+        return send(event.flux())
+                .next()
+                .map(result -> result.getError() == null
+                        ? ResponseEntity.ok(result)
+                        : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result));
+    }
+
+    // JSON array or NDJSON in, one result per order streamed back as NDJSON.
+    // The request body is decoded element by element and only pulled as fast as the
+    // sender drains it, so /batch and /stream share the same backpressured pipeline.
+    @PostMapping(path = {"/batch", "/stream"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PublishResult> createOrders(@RequestBody Flux<OrderEvent> events) {
+        return send(events);
+    }
+
+    // Records are built off the event loop: toRecord() can block, in the binary codec's
+    // SymbolDictionary.idFor (waits for a new symbol's mapping to be acked) and in the
+    // symbol partitioner's partitionsFor (up to max.block.ms on missing metadata).
+    private Flux<PublishResult> send(Flux<OrderEvent> events) {
+        Flux<SenderRecord<String, byte[], String>> records = events
+                .publishOn(Schedulers.boundedElastic())
+                .map(event -> SenderRecord.create(recordFactory.toRecord(event), event.getOrderId()));
+        return sender.send(records).map(ReactiveOrderController::toResult);
+    }
+
+    private static PublishResult toResult(SenderResult<String> result) {
+        if (result.exception() != null) {
+            return PublishResult.failed(result.correlationMetadata(), result.exception().getMessage());
+        }
+        return PublishResult.ok(result.correlationMetadata(),
+                result.recordMetadata().partition(), result.recordMetadata().offset());
+    }
+}
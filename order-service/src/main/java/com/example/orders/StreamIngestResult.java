@@ -0,0 +1,31 @@
+
+package com.example.orders;
+
+import java.util.List;
+
+// Summary of one streamed upload. Only counts + the first few errors are kept,
+// so the response stays small no matter how many orders were streamed.
+public class StreamIngestResult {
+    private long received;
+    private long published;
+    private long failed;
+    private List<String> errors;
+
+    public StreamIngestResult() {}
+
+    public StreamIngestResult(long received, long published, long failed, List<String> errors) {
+        this.received = received;
+        this.published = published;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getReceived() { return received; }
+    public void setReceived(long received) { this.received = received; }
+    public long getPublished() { return published; }
+    public void setPublished(long published) { this.published = published; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
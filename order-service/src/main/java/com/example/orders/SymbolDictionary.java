@@ -0,0 +1,291 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// ================================
+// 📖 Component: SymbolDictionary
+// ================================
+// Gives every symbol a compact int id, so binary records carry 4 bytes instead of the
+// symbol string. Every id → symbol mapping is published to a compacted topic
+// (`app.topic.symbols`, key = id, value = symbol) *before* the first order uses it;
+// analytics-service follows that topic to turn ids back into symbols.
+//
+// Ids are a stable hash of the symbol (murmur2, non-negative), so every order-service
+// replica picks the same id for the same symbol without any coordination or config.
+// Two different symbols can still hash to the same id:
+//   - an id already mapped to another symbol is skipped (probe: hash of "symbol#1", "#2"...);
+//   - two replicas claiming one id for different symbols at the same moment is detected by
+//     following the topic. The last mapping wins, as it will after compaction; the losing
+//     symbol is logged and gets a fresh id on its next order.
+//
+// Loaded eagerly: start() replays the topic before the web server takes requests, then a
+// daemon thread follows it. idFor() never blocks under a lock. It fails fast while the
+// dictionary isn't loaded, and waits at most `app.symbols.assign-timeout-ms` for a new
+// mapping to be acknowledged.
+@Component
+public class SymbolDictionary implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolDictionary.class);
+
+    // Probes per symbol before giving up; more than one is already a rare hash collision.
+    private static final int MAX_PROBES = 16;
+
+    // Mappings go out through the pool's durable producers, like orders.
+    private final ProducerPool producers;
+    private final String bootstrap;
+    private final String symbolsTopic;
+    private final long assignTimeoutMs;
+
+    // symbol → id (what we encode) and id → symbol (what we decode), ids from any replica.
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> symbols = new ConcurrentHashMap<>();
+    // Mappings sent but not acknowledged yet; concurrent orders for the symbol share the send.
+    private final Map<String, CompletableFuture<Integer>> pending = new ConcurrentHashMap<>();
+
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private volatile boolean loaded;
+    private volatile boolean running;
+
+    public SymbolDictionary(ProducerPool producers,
+                            @Value("${spring.kafka.bootstrap-servers}") String bootstrap,
+                            @Value("${app.topic.symbols}") String symbolsTopic,
+                            @Value("${app.symbols.assign-timeout-ms:1000}") long assignTimeoutMs) {
+        this.producers = producers;
+        this.bootstrap = bootstrap;
+        this.symbolsTopic = symbolsTopic;
+        this.assignTimeoutMs = assignTimeoutMs;
+    }
+
+    // Hot path: one map lookup once the symbol is known.
+    public int idFor(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : assign(symbol);
+    }
+
+    // Reverse lookup; null if the id is unknown to this instance.
+    public String symbolFor(int id) {
+        return symbols.get(id);
+    }
+
+    private int assign(String symbol) {
+        if (!loaded) {
+            throw new IllegalStateException("Symbol dictionary not loaded yet from " + symbolsTopic);
+        }
+        CompletableFuture<Integer> claim = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = pending.putIfAbsent(symbol, claim);
+        if (existing != null) {
+            claim = existing;
+        } else {
+            publish(symbol, claim);
+        }
+        try {
+            // The mapping must be durable before any order carries the id.
+            return claim.get(assignTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing symbol " + symbol, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not publish symbol mapping for " + symbol, e.getCause());
+        } catch (TimeoutException e) {
+            // The send carries on; a later order for the symbol picks up its result.
+            throw new IllegalStateException("Symbol mapping for " + symbol + " not acknowledged within "
+                    + assignTimeoutMs + " ms", e);
+        }
+    }
+
+    private void publish(String symbol, CompletableFuture<Integer> claim) {
+        try {
+            int id = candidate(symbol);
+            producers.send(new ProducerRecord<>(symbolsTopic, Integer.toString(id), symbol.getBytes(StandardCharsets.UTF_8)))
+                    .whenComplete((result, ex) -> {
+                        pending.remove(symbol, claim);
+                        if (ex != null) {
+                            claim.completeExceptionally(ex);
+                            return;
+                        }
+                        // The follower may already have seen another replica's mapping for the
+                        // id; it applies both in topic order, so don't overwrite it here.
+                        symbols.putIfAbsent(id, symbol);
+                        if (!symbol.equals(symbols.get(id))) {
+                            claim.completeExceptionally(new IllegalStateException(
+                                    "Symbol id " + id + " was taken by " + symbols.get(id) + " concurrently"));
+                            return;
+                        }
+                        ids.putIfAbsent(symbol, id);
+                        log.info("Assigned symbol id {} → {}", id, symbol);
+                        claim.complete(ids.get(symbol));
+                    });
+        } catch (RuntimeException e) {
+            // send() itself failed (e.g. no metadata within max.block.ms).
+            pending.remove(symbol, claim);
+            claim.completeExceptionally(e);
+        }
+    }
+
+    // First id in the symbol's probe sequence that is free or already ours.
+    private int candidate(String symbol) {
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int id = hash(probe == 0 ? symbol : symbol + "#" + probe);
+            String owner = symbols.get(id);
+            if (owner == null || owner.equals(symbol)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("No free symbol id for " + symbol + " after " + MAX_PROBES + " probes");
+    }
+
+    private static int hash(String s) {
+        return Utils.toPositive(Utils.murmur2(s.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Topic order decides: a later mapping for an id replaces an earlier one, as compaction will.
+    private void register(int id, String symbol) {
+        String previous = symbols.put(id, symbol);
+        if (previous != null && !previous.equals(symbol)) {
+            // Two replicas claimed this id for different symbols at the same time. Orders of
+            // `previous` sent in between decode as `symbol`; new ones get another id.
+            ids.remove(previous, id);
+            log.error("Symbol id {} was claimed by both {} and {}; {} keeps it, {} gets a new id",
+                    id, previous, symbol, symbol, previous);
+        }
+    }
+
+    // ================================
+    // 🔄 Lifecycle: replay, then follow
+    // ================================
+    @Override
+    public void start() {
+        consumer = new KafkaConsumer<>(consumerProps());
+        try {
+            catchUp(assignAll());
+        } catch (RuntimeException e) {
+            // Don't block startup on a missing topic or broker; the follower keeps trying
+            // and binary encoding fails fast until it has caught up.
+            log.warn("Could not preload symbol dictionary from {}: {}", symbolsTopic, e.toString());
+        }
+        running = true;
+        Thread follower = new Thread(this::follow, "symbol-dictionary");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, byte[]> c = consumer;
+        if (c != null) {
+            c.wakeup();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server (and so before the first order) starts.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private List<TopicPartition> assignAll() {
+        List<PartitionInfo> infos = consumer.partitionsFor(symbolsTopic, Duration.ofSeconds(10));
+        if (infos == null || infos.isEmpty()) {
+            throw new IllegalStateException("topic " + symbolsTopic + " not found");
+        }
+        List<TopicPartition> partitions = infos.stream()
+                .map(p -> new TopicPartition(p.topic(), p.partition()))
+                .toList();
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+        return partitions;
+    }
+
+    private void catchUp(List<TopicPartition> partitions) {
+        Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+        while (partitions.stream().anyMatch(tp -> consumer.position(tp) < end.get(tp))) {
+            apply(consumer.poll(Duration.ofMillis(500)));
+        }
+        loaded = true;
+        log.info("Loaded {} symbol mappings from {}", symbols.size(), symbolsTopic);
+    }
+
+    private void follow() {
+        try {
+            while (running) {
+                try {
+                    if (!loaded) {
+                        catchUp(assignAll());
+                    }
+                    apply(consumer.poll(Duration.ofSeconds(1)));
+                } catch (WakeupException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Symbol dictionary follower failed on {}, retrying in 5s: {}", symbolsTopic, e.toString());
+                    Thread.sleep(5_000);
+                }
+            }
+        } catch (WakeupException | InterruptedException e) {
+            // stop() was called
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void apply(Iterable<ConsumerRecord<String, byte[]>> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                int id = Integer.parseInt(record.key());
+                String symbol = new String(record.value(), StandardCharsets.UTF_8);
+                register(id, symbol);
+                ids.putIfAbsent(symbol, id);
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed symbol mapping at {}-{}@{} (key={}): {}",
+                        record.topic(), record.partition(), record.offset(), record.key(), e.toString());
+            }
+        }
+    }
+
+    private Map<String, Object> consumerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // Never let a metadata lookup auto-create the topic as a non-compacted one.
+        props.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, false);
+        return props;
+    }
+}
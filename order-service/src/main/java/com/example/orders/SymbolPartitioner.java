@@ -0,0 +1,188 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import org.apache.kafka.common.utils.Utils;                 // Kafka's own murmur2 hash (same as the default partitioner).
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// ================================
+// 🧭 Component: SymbolPartitioner
+// ================================
+// Chooses the partition for an order (`app.partitioning.strategy`):
+//
+//   order-id (default) → null: Kafka hashes the key (orderId), orders spread evenly.
+//   symbol             → all orders of a symbol go to one "home" partition, so one
+//                        analytics consumer owns that symbol's state.
+//
+// Hot symbols: Space-Saving heavy-hitter sketches count a sample of symbols per window.
+// A symbol above `hot-share` of the window's traffic is reported as hot. With `hot-spread`
+// above 1 (opt-in; default 1 = never spread), a hot symbol's orders are spread over that
+// many consecutive partitions starting at its home, picked by orderId hash. Most of its
+// state stays in a few consumers, and one busy symbol can't saturate a single partition.
+//
+// ⚠️ Spreading gives up per-order ordering across hot/cold transitions: while a symbol is
+// hot, an order id maps to home + hash % spread; before and after, to home. Records for one
+// order id (e.g. a new order and its amend) sent around a window boundary can therefore
+// land on different partitions and be consumed out of order. Only turn it on when
+// consumers don't rely on per-order ordering.
+@Component
+public class SymbolPartitioner {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolPartitioner.class);
+
+    public static final String ORDER_ID = "order-id";
+    public static final String SYMBOL = "symbol";
+
+    private final ProducerPool producers;
+    private final String ordersTopic;
+    private final boolean bySymbol;
+    private final int sampleEvery;
+    private final double hotShare;
+    private final int hotSpread;
+
+    // 🔥 Space-Saving sketches, one per stripe, each guarded by itself. A sampled order
+    // locks one random stripe, so concurrent publishers rarely wait on each other;
+    // rollWindow merges the stripes.
+    private final Sketch[] sketches;
+
+    private volatile Set<String> hot = Set.of();
+    private volatile int partitionCount;
+
+    public SymbolPartitioner(ProducerPool producers,
+                             @Value("${app.topic.orders}") String ordersTopic,
+                             @Value("${app.partitioning.strategy:order-id}") String strategy,
+                             @Value("${app.partitioning.sample-every:8}") int sampleEvery,
+                             @Value("${app.partitioning.hot-share:0.1}") double hotShare,
+                             @Value("${app.partitioning.hot-spread:1}") int hotSpread,
+                             @Value("${app.partitioning.tracked-symbols:64}") int capacity) {
+        if (!ORDER_ID.equals(strategy) && !SYMBOL.equals(strategy)) {
+            throw new IllegalArgumentException("app.partitioning.strategy must be order-id or symbol");
+        }
+        this.producers = producers;
+        this.ordersTopic = ordersTopic;
+        this.bySymbol = SYMBOL.equals(strategy);
+        this.sampleEvery = sampleEvery;
+        this.hotShare = hotShare;
+        this.hotSpread = hotSpread;
+        this.sketches = new Sketch[Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new Sketch(capacity);
+        }
+    }
+
+    // Partition for this order, or null to let Kafka's default partitioner hash the key.
+    public Integer partitionFor(String symbol, String orderId) {
+        if (!bySymbol || symbol == null) {
+            return null;
+        }
+        int partitions = partitions();
+        int home = Utils.toPositive(Utils.murmur2(symbol.getBytes(StandardCharsets.UTF_8))) % partitions;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(sampleEvery) == 0) {
+            sketches[random.nextInt(sketches.length)].count(symbol);
+        }
+        int spread = Math.min(hotSpread, partitions);
+        if (spread <= 1 || orderId == null || !hot.contains(symbol)) {
+            return home;
+        }
+        // Stable while the symbol stays hot; see the ordering note above.
+        return (home + Utils.toPositive(orderId.hashCode()) % spread) % partitions;
+    }
+
+    public Set<String> hotSymbols() {
+        return hot;
+    }
+
+    // Closes the counting window: publish the new hot set, start counting from zero.
+    @Scheduled(fixedDelayString = "${app.partitioning.window-ms:10000}")
+    public void rollWindow() {
+        if (!bySymbol) {
+            return;
+        }
+        // Lower bounds add up across stripes: a stripe that doesn't track a symbol counts 0.
+        Map<String, Long> lowerBounds = new HashMap<>();
+        long total = 0;
+        for (Sketch sketch : sketches) {
+            total += sketch.drainInto(lowerBounds);
+        }
+        long threshold = (long) Math.ceil(total * hotShare);
+        long windowTotal = total;
+        Set<String> next = lowerBounds.entrySet().stream()
+                .filter(e -> windowTotal > 0 && e.getValue() >= threshold)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        if (!next.equals(hot)) {
+            log.info("Hot symbols now {} ({})", next,
+                    hotSpread > 1 ? "spread over " + hotSpread + " partitions" : "not spread, hot-spread is 1");
+        }
+        hot = next;
+        partitionCount = 0; // re-read next time, in case partitions were added
+    }
+
+    private int partitions() {
+        int n = partitionCount;
+        if (n == 0) {
+            n = producers.partitionsFor(ordersTopic).size();
+            partitionCount = n;
+        }
+        return n;
+    }
+
+    // One Space-Saving sketch: at most `capacity` counters of {count, error}.
+    private static final class Sketch {
+        private final int capacity;
+        private final Map<String, long[]> counters = new HashMap<>();
+        private long total;
+
+        Sketch(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void count(String symbol) {
+            total++;
+            long[] c = counters.get(symbol);
+            if (c != null) {
+                c[0]++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(symbol, new long[]{1, 0});
+                return;
+            }
+            // Evict the smallest counter; the newcomer inherits its count as error bound.
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, long[]> e : counters.entrySet()) {
+                if (e.getValue()[0] < min) {
+                    min = e.getValue()[0];
+                    minKey = e.getKey();
+                }
+            }
+            counters.remove(minKey);
+            counters.put(symbol, new long[]{min + 1, min});
+        }
+
+        // Adds this window's lower bounds to `into`, starts a new window, returns the window's total.
+        synchronized long drainInto(Map<String, Long> into) {
+            // Space-Saving guarantee: count - error is a lower bound of the true count.
+            counters.forEach((symbol, c) -> into.merge(symbol, c[0] - c[1], Long::sum));
+            long drained = total;
+            counters.clear();
+            total = 0;
+            return drained;
+        }
+    }
+}
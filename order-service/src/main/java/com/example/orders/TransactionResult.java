@@ -0,0 +1,41 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Outcome of one Kafka transaction: either every order committed (results carry
+// partition/offset per order) or none did (error says why).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionResult {
+    private boolean committed;
+    private int orders;
+    private List<PublishResult> results;
+    private String error;
+
+    public TransactionResult() {}
+
+    public TransactionResult(boolean committed, int orders, List<PublishResult> results, String error) {
+        this.committed = committed;
+        this.orders = orders;
+        this.results = results;
+        this.error = error;
+    }
+
+    public static TransactionResult committed(List<PublishResult> results) {
+        return new TransactionResult(true, results.size(), results, null);
+    }
+
+    public static TransactionResult aborted(int orders, String error) {
+        return new TransactionResult(false, orders, null, error);
+    }
+
+    public boolean isCommitted() { return committed; }
+    public void setCommitted(boolean committed) { this.committed = committed; }
+    public int getOrders() { return orders; }
+    public void setOrders(int orders) { this.orders = orders; }
+    public List<PublishResult> getResults() { return results; }
+    public void setResults(List<PublishResult> results) { this.results = results; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
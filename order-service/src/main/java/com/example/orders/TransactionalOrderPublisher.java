@@ -0,0 +1,246 @@
+package com.example.orders;
+
+// ================================
+// 📦 Imports
+// ================================
+import com.example.model.OrderEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// ================================
+// 🔒 Component: TransactionalOrderPublisher
+// ================================
+// All-or-nothing publishing: a group of orders goes into one Kafka transaction, so a
+// `read_committed` consumer sees all of them or none of them.
+//
+// Two ways to form a group:
+//   1️⃣ publishAtomically(events): one batch request = one transaction.
+//   2️⃣ publishInWindow(event): single orders are encoded on the caller's thread (an invalid
+//      order fails right there) and queued; a background thread closes a window after
+//      `window-ms` (or `window-max-records`) and commits it as one transaction.
+//      Each caller gets its own order's result once the window commits.
+//
+// The window queue is bounded (`window-queue-capacity`) and counted by AdmissionControl
+// from the moment an order is queued, so a slow broker sheds orders (429) instead of
+// letting the queue grow. A window that fails unexpectedly fails only its own orders;
+// the window thread carries on with the next one.
+//
+// A transaction costs a few extra broker round trips (add partitions, commit markers),
+// so it only pays off when spread over many records — that is what the window is for.
+//
+// Uses its own producer factory with a `transactional.id` prefix (unique per replica);
+// the regular producers stay non-transactional. Its settings are copied at startup, so
+// adaptive compression and batching (ProducerPool.reconfigure) don't reach it.
+@Component
+public class TransactionalOrderPublisher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionalOrderPublisher.class);
+
+    private final DefaultKafkaProducerFactory<String, byte[]> factory;
+    private final KafkaTemplate<String, byte[]> template;
+    private final OrderRecordFactory recordFactory;
+    private final AdaptiveCompression compression;
+    private final AdmissionControl admission;
+
+    // ⏱️ Time window state
+    private final long windowNanos;
+    private final int windowMaxRecords;
+    private final BlockingQueue<Pending> queue;
+    private final Thread windowThread;
+
+    // An encoded order waiting for its window; counted in AdmissionControl until committed.
+    private record Pending(ProducerRecord<String, byte[]> record, CompletableFuture<PublishResult> result) {
+        String orderId() {
+            return record.key();
+        }
+
+        int bytes() {
+            return record.value().length;
+        }
+    }
+
+    public TransactionalOrderPublisher(ProducerFactory<String, byte[]> producerFactory,
+                                       OrderRecordFactory recordFactory,
+                                       AdaptiveCompression compression,
+                                       AdmissionControl admission,
+                                       @Value("${app.orders.transactions.id-prefix}") String idPrefix,
+                                       @Value("${app.orders.transactions.window-ms:5}") long windowMs,
+                                       @Value("${app.orders.transactions.window-max-records:500}") int windowMaxRecords,
+                                       @Value("${app.orders.transactions.window-queue-capacity:10000}") int queueCapacity) {
+        // Same settings as the regular producer (idempotence is required for transactions anyway).
+        this.factory = new DefaultKafkaProducerFactory<>(producerFactory.getConfigurationProperties());
+        this.factory.setTransactionIdPrefix(idPrefix);
+        this.template = new KafkaTemplate<>(factory);
+        this.recordFactory = recordFactory;
+        this.compression = compression;
+        this.admission = admission;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.windowMaxRecords = windowMaxRecords;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.windowThread = new Thread(this::runWindows, "tx-window");
+        this.windowThread.setDaemon(true);
+        this.windowThread.start();
+    }
+
+    // ===============================================
+    // 📚 One batch = one transaction
+    // ===============================================
+    // Throws OverloadedException (→ 429) when the producers are too full.
+    public TransactionResult publishAtomically(List<OrderEvent> events) {
+        admission.admit();
+
+        // 1️⃣ Build every record first: an invalid order fails the batch before anything is sent.
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>(events.size());
+        long bytes = 0;
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                records.add(toRecord(events.get(i)));
+            } catch (RuntimeException e) {
+                return TransactionResult.aborted(events.size(), "Invalid order #" + (i + 1) + ": " + e.getMessage());
+            }
+            bytes += records.get(i).value().length;
+        }
+
+        admission.sent(records.size(), bytes);
+        try {
+            return commit(records);
+        } finally {
+            admission.completed(records.size(), bytes); // commit/abort has flushed everything
+        }
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(OrderEvent event) {
+        ProducerRecord<String, byte[]> record = recordFactory.toRecord(event);
+        compression.observe(record.value());
+        return record;
+    }
+
+    // 2️⃣ Send all, then commit. commitTransaction() flushes and fails if any send failed;
+    //    executeInTransaction then aborts, so consumers never see a partial batch.
+    private TransactionResult commit(List<ProducerRecord<String, byte[]>> records) {
+        List<CompletableFuture<SendResult<String, byte[]>>> futures;
+        try {
+            futures = template.executeInTransaction(ops -> {
+                List<CompletableFuture<SendResult<String, byte[]>>> sent = new ArrayList<>(records.size());
+                for (ProducerRecord<String, byte[]> record : records) {
+                    sent.add(ops.send(record));
+                }
+                return sent;
+            });
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Transaction of {} orders aborted", records.size(), cause);
+            return TransactionResult.aborted(records.size(), cause.getMessage());
+        }
+
+        // 3️⃣ Committed: every future is already complete.
+        List<PublishResult> results = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            RecordMetadata metadata = futures.get(i).join().getRecordMetadata();
+            results.add(PublishResult.ok(records.get(i).key(), metadata.partition(), metadata.offset()));
+        }
+        log.info("Committed transaction of {} orders", records.size());
+        return TransactionResult.committed(results);
+    }
+
+    // ===============================================
+    // ⏱️ Single orders, grouped by time window
+    // ===============================================
+    // Throws OverloadedException (→ 429) when the producers or the window queue are full,
+    // and the encoder's exception for an invalid order.
+    public CompletableFuture<PublishResult> publishInWindow(OrderEvent event) {
+        admission.admit();
+        Pending pending = new Pending(toRecord(event), new CompletableFuture<>());
+        admission.sent(1, pending.bytes());
+        if (!queue.offer(pending)) {
+            admission.completed(1, pending.bytes());
+            throw admission.overloaded();
+        }
+        return pending.result();
+    }
+
+    // One window at a time: wait for the first order, collect more until the window
+    // closes or is full, commit, hand each caller its result.
+    private void runWindows() {
+        List<Pending> window = new ArrayList<>();
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>();
+        try {
+            while (true) {
+                window.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (window.size() < windowMaxRecords) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    window.add(next);
+                }
+
+                try {
+                    for (Pending pending : window) {
+                        records.add(pending.record());
+                    }
+                    TransactionResult tx = commit(records);
+                    for (int i = 0; i < window.size(); i++) {
+                        Pending pending = window.get(i);
+                        pending.result().complete(tx.isCommitted()
+                                ? tx.getResults().get(i)
+                                : PublishResult.failed(pending.orderId(), "Transaction aborted: " + tx.getError()));
+                    }
+                } catch (RuntimeException e) {
+                    // Anything commit() didn't turn into an abort: fail this window, keep the thread.
+                    log.error("Transaction window of {} orders failed", window.size(), e);
+                    fail(window, "Transaction window failed: " + e.getMessage());
+                } finally {
+                    release(window);
+                    window.clear();
+                    records.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down: nothing queued will be sent.
+            queue.drainTo(window);
+            fail(window, "Shutting down");
+            release(window);
+        }
+    }
+
+    // No-op for orders that already have their result.
+    private static void fail(List<Pending> window, String error) {
+        for (Pending pending : window) {
+            pending.result().complete(PublishResult.failed(pending.orderId(), error));
+        }
+    }
+
+    // Queued orders count as in flight from publishInWindow until their window is done.
+    private void release(List<Pending> window) {
+        long bytes = 0;
+        for (Pending pending : window) {
+            bytes += pending.bytes();
+        }
+        admission.completed(window.size(), bytes);
+    }
+
+    @Override
+    public void destroy() {
+        windowThread.interrupt();
+        factory.destroy();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.orders;
+
+import com.example.model.OrderEvent;
+import com.example.model.OrderJsonModule;
+import com.example.model.Prices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ================================
+// 🧪 OrderStreamIngestor — bulk replay past the admission high watermark
+// ================================
+// The upload's own in-flight cap (500) is well above the admission high watermark (100
+// records), so the stream runs into load shedding over and over. Every order still has
+// to be published exactly once and none counted as failed.
+class OrderStreamIngestorOverloadTest {
+
+    private static final int ORDERS = 2_000;
+    private static final long HIGH_RECORDS = 100;
+    private static final long LOW_RECORDS = 50;
+
+    private final ScheduledExecutorService broker = Executors.newSingleThreadScheduledExecutor();
+    private final AdmissionControl admission = new AdmissionControl(
+            new SimpleMeterRegistry(), Long.MAX_VALUE, Long.MAX_VALUE, HIGH_RECORDS, LOW_RECORDS, 1);
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new OrderJsonModule(new Prices(4)));
+
+    @AfterEach
+    void stopBroker() {
+        broker.shutdownNow();
+    }
+
+    @Test
+    void waitsOutSheddingInsteadOfFailingOrders() throws Exception {
+        SlowBrokerPublisher publisher = new SlowBrokerPublisher(0);
+        StreamIngestResult result = ingest(publisher);
+
+        assertEquals(ORDERS, result.getReceived());
+        assertEquals(ORDERS, result.getPublished());
+        assertEquals(0, result.getFailed(), () -> "failed lines: " + result.getErrors());
+        assertEquals(ORDERS, publisher.accepted.get());
+        assertTrue(publisher.peakInFlight.get() >= HIGH_RECORDS,
+                "stream never reached the high watermark (peak " + publisher.peakInFlight.get() + ")");
+    }
+
+    @Test
+    void retriesAnOrderShedBetweenTheWaitAndTheSend() throws Exception {
+        // Another caller tipping the producers over the watermark right after our check.
+        SlowBrokerPublisher publisher = new SlowBrokerPublisher(ORDERS / 10);
+        StreamIngestResult result = ingest(publisher);
+
+        assertEquals(ORDERS, result.getPublished());
+        assertEquals(0, result.getFailed(), () -> "failed lines: " + result.getErrors());
+        assertEquals(ORDERS, publisher.accepted.get());
+    }
+
+    private StreamIngestResult ingest(OrderPublisher publisher) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ORDERS; i++) {
+            body.append("{\"orderId\":\"o-").append(i)
+                    .append("\",\"symbol\":\"AAPL\",\"side\":\"BUY\",\"qty\":1,\"price\":188.25}\n");
+        }
+        OrderStreamIngestor ingestor = new OrderStreamIngestor(publisher, admission, mapper, 500, 1);
+        return ingestor.ingest(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Goes through the real AdmissionControl, and acks each send ~1 ms later on the "broker" thread.
+    private class SlowBrokerPublisher extends OrderPublisher {
+        private final AtomicInteger racesLeft;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+        final AtomicInteger accepted = new AtomicInteger();
+
+        SlowBrokerPublisher(int races) {
+            super(null, null, null, null, null, admission, null, null, null, false);
+            this.racesLeft = new AtomicInteger(races);
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> publish(OrderEvent event) {
+            if (racesLeft.getAndDecrement() > 0) {
+                throw admission.overloaded();
+            }
+            admission.admit();
+            admission.sent(1, 100);
+            accepted.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+            broker.schedule(() -> {
+                inFlight.decrementAndGet();
+                admission.completed(1, 100);
+                ack.complete(null);
+            }, 1, TimeUnit.MILLISECONDS);
+            return ack;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.orders;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ================================
+// 🧪 ProducerPool — sends racing a live reconfigure
+// ================================
+// Sender threads hammer the pool while the main thread swaps every shard's producer again
+// and again. Against mock producers, that must leave:
+//   - every send acked (none hit a producer that was already closed),
+//   - every record in exactly one producer's history,
+//   - one producer per factory (a send into a destroyed factory would quietly build a new one),
+//   - every replaced producer closed, the primary KafkaTemplate bean's included.
+class ProducerPoolReconfigureTest {
+
+    private static final int SENDERS = 4;
+    private static final int SHARDS = 2;
+    private static final int RECONFIGURES = 50;
+
+    private final List<MockFactory> factories = new CopyOnWriteArrayList<>();
+
+    @Test
+    void sendsDuringReconfigureAllLandAndOldProducersAreClosed() throws Exception {
+        MockFactory primaryFactory = factory(new HashMap<>(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "mock:9092")));
+        ProducerPool pool = new ProducerPool(new KafkaTemplate<>(primaryFactory), SHARDS, null, this::factory);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger sent = new AtomicInteger();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(SENDERS);
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < SENDERS; t++) {
+            Thread sender = new Thread(() -> {
+                started.countDown();
+                int i = 0;
+                while (!stop.get()) {
+                    String key = "o-" + i++;
+                    try {
+                        CompletableFuture<SendResult<String, byte[]>> ack =
+                                pool.send(new ProducerRecord<>("orders", 0, key, new byte[8]));
+                        ack.get(5, TimeUnit.SECONDS);
+                        sent.incrementAndGet();
+                    } catch (Exception e) {
+                        failures.add(e);
+                    }
+                }
+            });
+            sender.start();
+            senders.add(sender);
+        }
+
+        started.await();
+        for (int i = 0; i < RECONFIGURES; i++) {
+            pool.reconfigure(Map.of(ProducerConfig.LINGER_MS_CONFIG, i));
+            Thread.sleep(1);
+        }
+        stop.set(true);
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " sends failed, first: " + failures.get(0));
+        assertTrue(sent.get() > 0);
+        assertEquals(sent.get(), factories.stream().mapToInt(MockFactory::records).sum());
+
+        List<Producer<String, byte[]>> current = new ArrayList<>();
+        for (KafkaTemplate<String, byte[]> template : pool.templates(Durability.DURABLE)) {
+            current.addAll(((MockFactory) template.getProducerFactory()).created);
+        }
+        for (MockFactory factory : factories) {
+            assertTrue(factory.created.size() <= 1, "a replaced factory built another producer");
+            for (MockProducer<String, byte[]> producer : factory.created) {
+                assertEquals(!current.contains(producer), producer.closed(), "replaced producers are closed, current ones open");
+            }
+        }
+        pool.destroy();
+    }
+
+    // Sends and metadata lookups use the swapped-in producers; the bean's own producer
+    // (old settings) sees nothing after the swap and is closed.
+    @Test
+    void afterAReconfigureNothingGoesThroughThePrimaryAnyMore() {
+        MockFactory primaryFactory = factory(new HashMap<>(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "mock:9092")));
+        ProducerPool pool = new ProducerPool(new KafkaTemplate<>(primaryFactory), 1, null, this::factory);
+        pool.send(new ProducerRecord<>("orders.symbols", 0, "7", new byte[4]));
+
+        pool.reconfigure(Map.of(ProducerConfig.LINGER_MS_CONFIG, 20));
+        pool.send(new ProducerRecord<>("orders.symbols", 0, "8", new byte[4]));
+        pool.partitionsFor("orders");
+
+        MockFactory current = (MockFactory) pool.templates(Durability.DURABLE).get(0).getProducerFactory();
+        assertEquals(20, current.getConfigurationProperties().get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(1, current.records());
+        assertEquals(1, primaryFactory.records());
+        assertEquals(1, primaryFactory.created.size());
+        assertTrue(primaryFactory.created.get(0).closed(), "the primary's producer is closed after the swap");
+        pool.destroy();
+    }
+
+    private MockFactory factory(Map<String, Object> configs) {
+        MockFactory factory = new MockFactory(configs);
+        factories.add(factory);
+        return factory;
+    }
+
+    // Hands out auto-acking MockProducers and remembers each one it built.
+    private static class MockFactory extends DefaultKafkaProducerFactory<String, byte[]> {
+        final List<MockProducer<String, byte[]>> created = new CopyOnWriteArrayList<>();
+
+        MockFactory(Map<String, Object> configs) {
+            super(configs);
+        }
+
+        @Override
+        protected Producer<String, byte[]> createRawProducer(Map<String, Object> rawConfigs) {
+            MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+            created.add(producer);
+            return producer;
+        }
+
+        int records() {
+            return created.stream().mapToInt(producer -> producer.history().size()).sum();
+        }
+    }
+}
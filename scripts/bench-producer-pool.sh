@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+#############################################
+# 🎱 Benchmark: producer pool size × sending threads
+#############################################
+# Runs ProducerPoolBenchmark (pool sizes 1/4/8) once per thread count against the
+# docker compose broker. The JVM runs in a container on the compose network, because
+# the broker advertises itself as kafka:9092.
+#
+# Usage:  scripts/bench-producer-pool.sh [threads...]     (default: 1 4 8 16 32)
+# Needs:  docker compose stack up, benchmarks built (mvn -B package -DskipTests)
+set -euo pipefail
+
+THREADS="${*:-1 4 8 16 32}"
+NETWORK="$(docker inspect kafka -f '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}')"
+
+for t in $THREADS; do
+  echo "=== threads=${t}"
+  docker run --rm --network "$NETWORK" -v "$PWD/benchmarks/target:/bench:ro" eclipse-temurin:17-jre-jammy \
+    java -Dbench.bootstrap=kafka:9092 -jar /bench/benchmarks.jar ProducerPoolBenchmark -t "$t" \
+    | grep -E '^(Benchmark|ProducerPoolBenchmark)'
+done
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#############################################
+# ⚡ Benchmark: startup time, plain fat jar vs fast-start (Spring AOT + AppCDS)
+#############################################
+# Builds both image variants and, against a running broker, measures per service start:
+#   - order-service     time-to-ready: container start → /actuator/health/readiness UP
+#                       (includes ProducerWarmup)
+#   - analytics-service time-to-first-consumed-record: container start → first
+#                       "Received OrderEvent" line (an order is waiting on the topic)
+# plus the JVM's own "Started ... in X seconds" line for each.
+#
+# Usage:  scripts/bench-startup.sh [runs-per-variant]
+# Needs:  docker compose, curl
+set -euo pipefail
+
+RUNS="${1:-5}"
+URL="http://localhost:8081"
+BODY='{"orderId":"startup-bench","symbol":"AAPL","side":"BUY","qty":10,"price":188.25}'
+
+now_ms() { date +%s%3N; }
+
+started_in() {
+  docker compose logs --no-log-prefix "$1" | grep -oE 'Started [A-Za-z]+ in [0-9.]+ seconds' | grep -oE '[0-9.]+ seconds' | head -1
+}
+
+run() {
+  local target="$1"
+  echo "=== ${target} | runs=${RUNS}"
+  export BUILD_TARGET="$target" ANALYTICS_FULL_CAPTURE=true
+  docker compose build order-service analytics-service >/dev/null
+
+  for i in $(seq 1 "$RUNS"); do
+    docker compose rm -sf order-service analytics-service >/dev/null 2>&1
+
+    # 🚀 order-service: time to readiness
+    local start ready
+    start=$(now_ms)
+    docker compose up -d --no-deps order-service >/dev/null 2>&1
+    until curl -sf -o /dev/null "$URL/actuator/health/readiness"; do sleep 0.05; done
+    ready=$(( $(now_ms) - start ))
+
+    # 📨 One order waits on the topic before the consumer starts
+    curl -sf -o /dev/null -X POST "$URL/orders?ack=true" -H 'Content-Type: application/json' -d "$BODY"
+
+    # 📊 analytics-service: time to the first consumed record
+    local consumed
+    start=$(now_ms)
+    docker compose up -d --no-deps analytics-service >/dev/null 2>&1
+    until docker compose logs --no-log-prefix analytics-service 2>/dev/null | grep -q 'Received OrderEvent'; do sleep 0.05; done
+    consumed=$(( $(now_ms) - start ))
+
+    printf 'run %d: order-service ready %5d ms (%s) | analytics first record %5d ms (%s)\n' \
+      "$i" "$ready" "$(started_in order-service)" "$consumed" "$(started_in analytics-service)"
+  done
+}
+
+# 🧱 Broker + topics once; only the services are restarted per run.
+docker compose down -v >/dev/null 2>&1 || true
+docker compose up -d kafka >/dev/null
+docker compose run --rm init-topics >/dev/null
+
+run runtime
+run fast-start
+docker compose down -v >/dev/null
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+#############################################
+# 🧵 Benchmark: platform threads vs virtual threads
+#############################################
+# Runs the stack twice on a Java 21 runtime — once with the default thread model,
+# once with SPRING_THREADS_VIRTUAL_ENABLED=true — and drives acknowledged publishes
+# (POST /orders?ack=true) at high concurrency with `hey`.
+#
+# Usage:  scripts/bench-virtual-threads.sh [concurrency] [requests]
+# Needs:  docker compose, hey (https://github.com/rakyll/hey)
+set -euo pipefail
+
+CONCURRENCY="${1:-2000}"
+REQUESTS="${2:-200000}"
+URL="http://localhost:8081/orders?ack=true"
+BODY='{"orderId":"bench","symbol":"AAPL","side":"BUY","qty":10,"price":188.25}'
+
+run() {
+  local mode="$1"
+  echo "=== ${mode} threads | concurrency=${CONCURRENCY} requests=${REQUESTS}"
+  docker compose down -v >/dev/null 2>&1 || true
+  JAVA_RUNTIME=21 VIRTUAL_THREADS="$([ "$mode" = virtual ] && echo true || echo false)" \
+    docker compose up -d --build >/dev/null
+
+  # ⏳ Wait until order-service answers.
+  until curl -sf -o /dev/null -X POST "$URL" -H 'Content-Type: application/json' -d "$BODY"; do sleep 2; done
+
+  # 🔥 Short warm-up so both runs measure a JIT-compiled service.
+  hey -n 20000 -c 200 -m POST -T application/json -d "$BODY" "$URL" >/dev/null
+
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/json -d "$BODY" "$URL" \
+    | grep -E 'Requests/sec|Average|Slowest|Status code|\[[0-9]+\]|99%|95%|50%'
+  echo "live threads in order-service: $(docker compose exec -T order-service sh -c 'ls /proc/1/task | wc -l')"
+}
+
+run platform
+run virtual
+docker compose down -v >/dev/null
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+#############################################
+# 🚀 Load test: open-loop rate sweep against the compose stack
+#############################################
+# Runs loadgen on the compose network (the broker advertises itself as kafka:9092), so it
+# can reach order-service and read orders.v1 for end-to-end latency.
+#
+# Usage:  scripts/loadgen.sh [rates] [extra loadgen options...]
+#         scripts/loadgen.sh 1000,2000,4000,8000 --duration-s=60 --url=http://order-service:8081/orders?ack=true
+# Needs:  docker compose stack up, loadgen built (mvn -B package -DskipTests)
+set -euo pipefail
+
+RATES="${1:-1000,2000,4000,8000}"
+shift || true
+NETWORK="$(docker inspect kafka -f '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}')"
+
+docker run --rm --network "$NETWORK" -v "$PWD/loadgen/target:/loadgen" eclipse-temurin:17-jre-jammy \
+  java -jar /loadgen/loadgen.jar --url=http://order-service:8081/orders --bootstrap=kafka:9092 \
+  --rates="$RATES" --hgrm-dir=/loadgen/hgrm "$@"